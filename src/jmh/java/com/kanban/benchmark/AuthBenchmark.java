@@ -0,0 +1,88 @@
+package com.kanban.benchmark;
+
+import com.kanban.security.JwtService;
+import com.kanban.security.TokenDenylist;
+import com.kanban.security.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost: what JwtAuthFilter does with the bearer
+ * token of a request, in stateless mode so that no database is involved.
+ * <ul>
+ *     <li>{@code rebuiltKeyParsedTwice}: the filter before the signing key
+ *     and the parser were built once, which decoded the secret, built a
+ *     parser and verified the token for the email and again for the
+ *     expiry.</li>
+ *     <li>{@code parsedOnce}: one verification with the shared parser.</li>
+ *     <li>{@code cached}: the same, with the verified token cache on.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class AuthBenchmark {
+
+    private JwtService uncached;
+    private JwtService cached;
+    private String[] tokens;
+
+    @Setup
+    public void setUp() {
+        uncached = jwtService(0);
+        cached = jwtService(10_000);
+        tokens = BenchmarkTokens.tokens();
+    }
+
+    @Benchmark
+    public boolean rebuiltKeyParsedTwice() {
+        String token = token();
+        String email = Jwts.parser().verifyWith(BenchmarkTokens.signKey()).build()
+                .parseSignedClaims(token).getPayload().getSubject();
+        Date expiration = Jwts.parser().verifyWith(BenchmarkTokens.signKey()).build()
+                .parseSignedClaims(token).getPayload().getExpiration();
+        return email != null && expiration.after(new Date());
+    }
+
+    @Benchmark
+    public boolean parsedOnce() {
+        return authenticate(uncached, token());
+    }
+
+    @Benchmark
+    public boolean cached() {
+        return authenticate(cached, token());
+    }
+
+    // The work of JwtAuthFilter#doFilterInternal up to the security context.
+    private boolean authenticate(JwtService jwtService, String token) {
+        Claims claims = jwtService.parseToken(token);
+        if (jwtService.isRevoked(claims))
+            return false;
+        UserDetails user = jwtService.principalFromClaims(claims).orElseThrow();
+        return jwtService.isTokenValid(claims, user);
+    }
+
+    private String token() {
+        return tokens[ThreadLocalRandom.current().nextInt(tokens.length)];
+    }
+
+    private static JwtService jwtService(int cacheEntries) {
+        return new JwtService(new MockEnvironment()
+                .withProperty("jwt.base64-secret", BenchmarkTokens.SECRET)
+                .withProperty("security.jwt.stateless", "true"),
+                null, new TokenDenylist(), new VerifiedTokenCache(new SimpleMeterRegistry(), cacheEntries));
+    }
+}
@@ -0,0 +1,49 @@
+package com.kanban.benchmark;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access tokens for the benchmarks, signed with a fixed test secret.
+ */
+final class BenchmarkTokens {
+
+    static final String SECRET =
+            "d0d2566ce3be3d3aa7b23282c90a67d7fda5a174a4f96d2351ffbdbbce0beb59e5b0431c34ecd022a0421dd91e2cbc8f";
+
+    // Requests pick one of this many tokens at random, as clients reuse
+    // their token for its whole lifetime.
+    static final int COUNT = 1_000;
+
+    private BenchmarkTokens() {
+    }
+
+    static SecretKey signKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    }
+
+    // Shaped like JwtService#generateToken(UserInfo), valid for an hour so
+    // that they outlive the run.
+    static String[] tokens() {
+        SecretKey key = signKey();
+        String[] tokens = new String[COUNT];
+        for (int i = 0; i < COUNT; i++)
+            tokens[i] = Jwts.builder()
+                    .claims(Map.of("uid", (long) i, "username", "user" + i, "roles", List.of("ROLE_USER")))
+                    .id(UUID.randomUUID().toString())
+                    .subject("user" + i + "@example.com")
+                    .issuedAt(new Date())
+                    .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                    .signWith(key)
+                    .compact();
+        return tokens;
+    }
+}
@@ -0,0 +1,120 @@
+package com.kanban.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Times {@code POST /api/tasks/import} against a running instance. Every run
+ * sends the same generated NDJSON body; each record gets two of the given
+ * assignee ids, so the task_assignees inserts are part of the measurement.
+ * The first run only warms up.
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec \
+ *     -Dbenchmark.main=com.kanban.benchmark.TaskImportLoadTest \
+ *     -Dbenchmark.args="http://localhost:8080 100000 1,2,3 3"
+ * </pre>
+ * Arguments: base URL, records per run (100000), comma-separated ids of
+ * existing users to assign (none), measured runs (3). Every run adds the
+ * records to the database, so use a scratch database.
+ */
+public class TaskImportLoadTest {
+
+    private static final String USERNAME = "loadtest";
+    private static final String PASSWORD = "loadtest-password";
+    private static final String[] STATUSES = {"TO_DO", "IN_PROGRESS", "DONE"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private String accessToken;
+
+    TaskImportLoadTest(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int records = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        List<Long> assigneeIds = args.length > 2 && !args[2].isBlank()
+                ? Arrays.stream(args[2].split(",")).map(Long::valueOf).toList()
+                : List.of();
+        int runs = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+
+        TaskImportLoadTest loadTest = new TaskImportLoadTest(baseUrl);
+        loadTest.register();
+        String body = ndjson(records, assigneeIds);
+        System.out.printf("%d records, %.1f MB, assignees %s%n", records, body.length() / 1e6, assigneeIds);
+        for (int run = 0; run <= runs; run++) {
+            // Access tokens live for a minute; a run may take longer than that.
+            loadTest.login();
+            long start = System.nanoTime();
+            JsonNode result = loadTest.importTasks(body);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%s: %.2f s, %.0f records/s, imported %d, rejected %d%n",
+                    run == 0 ? "warm-up" : "run " + run, seconds, records / seconds,
+                    result.get("imported").asLong(), result.get("rejected").asLong());
+        }
+    }
+
+    private static String ndjson(int records, List<Long> assigneeIds) {
+        StringBuilder body = new StringBuilder(records * 120);
+        for (int i = 0; i < records; i++) {
+            body.append("{\"title\":\"Imported task ").append(i)
+                    .append("\",\"status\":\"").append(STATUSES[i % STATUSES.length])
+                    .append("\",\"priority\":\"").append(PRIORITIES[i % PRIORITIES.length])
+                    .append("\",\"assigneeIds\":[");
+            if (!assigneeIds.isEmpty()) {
+                body.append(assigneeIds.get(i % assigneeIds.size()));
+                if (assigneeIds.size() > 1)
+                    body.append(',').append(assigneeIds.get((i + 1) % assigneeIds.size()));
+            }
+            body.append("]}\n");
+        }
+        return body.toString();
+    }
+
+    private JsonNode importTasks(String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/import"))
+                .header("Authorization", "Bearer " + accessToken)
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200)
+            throw new IllegalStateException("Import failed with " + response.statusCode() + ": " + response.body());
+        return objectMapper.readTree(response.body());
+    }
+
+    private void register() throws Exception {
+        // Fails with 400 once the user exists, which is fine.
+        post("/api/auth/register", Map.of(
+                "username", USERNAME, "email", USERNAME + "@example.com", "password", PASSWORD));
+    }
+
+    private void login() throws Exception {
+        HttpResponse<String> response = post("/api/auth/login", Map.of("username", USERNAME, "password", PASSWORD));
+        if (response.statusCode() != 200)
+            throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body());
+        accessToken = objectMapper.readTree(response.body()).get("accessToken").asText();
+    }
+
+    private HttpResponse<String> post(String path, Map<String, String> body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
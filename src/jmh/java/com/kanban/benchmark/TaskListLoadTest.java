@@ -0,0 +1,159 @@
+package com.kanban.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test of {@code GET /api/tasks/getAll} against a running
+ * instance: every worker sends its next request as soon as the previous one
+ * has answered, all with the same access token, like a busy client would.
+ * <p>
+ * Registers and logs in a user on its own, and logs in again before the
+ * one-minute access token runs out. Compare runs of the same build with
+ * {@code SECURITY_JWT_VERIFIED_CACHE_MAX_ENTRIES=0} and with the default:
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec \
+ *     -Dbenchmark.main=com.kanban.benchmark.TaskListLoadTest \
+ *     -Dbenchmark.args="http://localhost:8080 16 60"
+ * </pre>
+ * Arguments: base URL, workers (16), seconds (60), warm-up seconds (15).
+ */
+public class TaskListLoadTest {
+
+    private static final String USERNAME = "loadtest";
+    private static final String PASSWORD = "loadtest-password";
+    private static final Duration TOKEN_RENEWAL = Duration.ofSeconds(45);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private volatile String accessToken;
+
+    TaskListLoadTest(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        int warmUpSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 15;
+
+        TaskListLoadTest loadTest = new TaskListLoadTest(baseUrl);
+        loadTest.register();
+        loadTest.login();
+        ScheduledExecutorService renewal = Executors.newSingleThreadScheduledExecutor();
+        renewal.scheduleAtFixedRate(loadTest::renewToken, TOKEN_RENEWAL.toSeconds(),
+                TOKEN_RENEWAL.toSeconds(), TimeUnit.SECONDS);
+        try {
+            System.out.printf("Warming up for %d s%n", warmUpSeconds);
+            loadTest.run(workers, warmUpSeconds);
+            System.out.printf("Measuring %d workers for %d s%n", workers, seconds);
+            loadTest.run(workers, seconds).print(seconds);
+        } finally {
+            renewal.shutdownNow();
+        }
+    }
+
+    private Result run(int workers, int seconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int i = 0; i < workers; i++)
+            futures.add(executor.submit(() -> {
+                long[] latencies = new long[1 << 16];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    int status = getAll();
+                    long latency = System.nanoTime() - start;
+                    if (status != 200) {
+                        errors.incrementAndGet();
+                        continue;
+                    }
+                    if (count == latencies.length)
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    latencies[count++] = latency;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        List<long[]> perWorker = new ArrayList<>();
+        for (Future<long[]> future : futures)
+            perWorker.add(future.get());
+        executor.shutdown();
+        long[] all = perWorker.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(all, errors.get());
+    }
+
+    private int getAll() {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/getAll"))
+                    .header("Authorization", "Bearer " + accessToken)
+                    .GET()
+                    .build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception ex) {
+            return -1;
+        }
+    }
+
+    private void register() throws Exception {
+        // Fails with 400 once the user exists, which is fine.
+        post("/api/auth/register", Map.of(
+                "username", USERNAME, "email", USERNAME + "@example.com", "password", PASSWORD));
+    }
+
+    private void login() throws Exception {
+        HttpResponse<String> response = post("/api/auth/login", Map.of("username", USERNAME, "password", PASSWORD));
+        if (response.statusCode() != 200)
+            throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body());
+        accessToken = objectMapper.readTree(response.body()).get("accessToken").asText();
+    }
+
+    private void renewToken() {
+        try {
+            login();
+        } catch (Exception ex) {
+            System.err.println("Token renewal failed: " + ex.getMessage());
+        }
+    }
+
+    private HttpResponse<String> post(String path, Map<String, String> body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private record Result(long[] sortedLatencies, long errors) {
+
+        void print(int seconds) {
+            System.out.printf("requests: %d, errors: %d, throughput: %.1f req/s%n",
+                    sortedLatencies.length, errors, sortedLatencies.length / (double) seconds);
+            if (sortedLatencies.length == 0)
+                return;
+            System.out.printf("latency ms: p50 %.2f, p90 %.2f, p99 %.2f, max %.2f%n",
+                    percentile(0.50), percentile(0.90), percentile(0.99),
+                    sortedLatencies[sortedLatencies.length - 1] / 1e6);
+        }
+
+        private double percentile(double p) {
+            return sortedLatencies[(int) Math.min(sortedLatencies.length - 1, p * sortedLatencies.length)] / 1e6;
+        }
+    }
+}
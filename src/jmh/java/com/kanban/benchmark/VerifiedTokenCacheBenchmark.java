@@ -0,0 +1,135 @@
+package com.kanban.benchmark;
+
+import com.kanban.security.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * VerifiedTokenCache under concurrent load, against verifying every token
+ * and against an access-ordered LinkedHashMap behind one lock, the usual
+ * way to bound such a cache.
+ * <ul>
+ *     <li>{@code verify}: HMAC verification of a token, what a hit saves.</li>
+ *     <li>{@code hit} and {@code lockedHit}: lookups of tokens that are
+ *     cached.</li>
+ *     <li>{@code missOnFullCache}: a new token on a full cache, so every
+ *     call inserts and now and then trims. The verifier is a stub, to
+ *     leave only the cost of the cache.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class VerifiedTokenCacheBenchmark {
+
+    static final int MAX_ENTRIES = 10_000;
+
+    private JwtParser parser;
+    private String[] tokens;
+    private VerifiedTokenCache cache;
+    private LockedCache lockedCache;
+    private VerifiedTokenCache fullCache;
+    private Claims stubClaims;
+
+    @State(Scope.Thread)
+    public static class NewTokens {
+        private final String prefix = "new-" + Thread.currentThread().threadId() + "-";
+        private long next;
+
+        String next() {
+            return prefix + next++;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        parser = Jwts.parser().verifyWith(BenchmarkTokens.signKey()).build();
+        tokens = BenchmarkTokens.tokens();
+        cache = new VerifiedTokenCache(new SimpleMeterRegistry(), MAX_ENTRIES);
+        lockedCache = new LockedCache(MAX_ENTRIES);
+        for (String token : tokens) {
+            cache.get(token, this::verify);
+            lockedCache.get(token, this::verify);
+        }
+        stubClaims = Jwts.claims()
+                .subject("stub@example.com")
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .build();
+        fullCache = new VerifiedTokenCache(new SimpleMeterRegistry(), MAX_ENTRIES);
+        for (int i = 0; i < MAX_ENTRIES; i++)
+            fullCache.get("filler-" + i, token -> stubClaims);
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return verify(token());
+    }
+
+    @Benchmark
+    public Claims hit() {
+        return cache.get(token(), this::verify);
+    }
+
+    @Benchmark
+    public Claims lockedHit() {
+        return lockedCache.get(token(), this::verify);
+    }
+
+    @Benchmark
+    public Claims missOnFullCache(NewTokens newTokens) {
+        return fullCache.get(newTokens.next(), token -> stubClaims);
+    }
+
+    private Claims verify(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    private String token() {
+        return tokens[ThreadLocalRandom.current().nextInt(tokens.length)];
+    }
+
+    // Bounded LRU with one lock around every lookup, since an access-ordered
+    // get moves the entry.
+    static final class LockedCache {
+
+        private record Entry(Claims claims, long expiresAt) {}
+
+        private final Map<String, Entry> entries;
+
+        LockedCache(int maxEntries) {
+            entries = new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        Claims get(String token, Function<String, Claims> verifier) {
+            synchronized (this) {
+                Entry entry = entries.get(token);
+                if (entry != null && entry.expiresAt() > System.currentTimeMillis())
+                    return entry.claims();
+            }
+            Claims claims = verifier.apply(token);
+            synchronized (this) {
+                entries.put(token, new Entry(claims, claims.getExpiration().getTime()));
+            }
+            return claims;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.kanban.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Brings a database created by an older build up to date with what
+ * {@code ddl-auto=update} cannot do on its own. Runs once the entity
+ * manager factory has updated the schema, and before the web server
+ * accepts requests. Every step is idempotent.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@AllArgsConstructor
+public class SchemaUpgrade {
+
+    // Must match the allocationSize of the @SequenceGenerator mappings.
+    static final int ALLOCATION_SIZE = 50;
+
+    // Sequence by table, for entities that used IDENTITY ids before.
+    static final Map<String, String> SEQUENCES = Map.of(
+            "tasks", "tasks_seq",
+            "projects", "projects_seq",
+            "users", "users_seq");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void run() {
+        SEQUENCES.forEach(this::synchronizeSequence);
+        hashPlaintextRefreshTokens();
+        requireIdempotencyRequestHash();
+    }
+
+    /**
+     * Moves a sequence past the highest id in its table. Hibernate creates
+     * a new sequence starting at 1, so on a table filled through IDENTITY
+     * the first pooled block would collide with existing rows. A pooled
+     * block ends at the value the sequence returns, so the next value has
+     * to be at least {@code max(id) + ALLOCATION_SIZE}.
+     */
+    void synchronizeSequence(String table, String sequence) {
+        if (!exists(table) || !exists(sequence))
+            return;
+        jdbcTemplate.queryForList(
+                "select setval('" + sequence + "', t.max_id + " + ALLOCATION_SIZE + ", false) " +
+                "from (select max(id) as max_id from " + table + ") t, " + sequence + " s " +
+                "where t.max_id + " + ALLOCATION_SIZE + " > " +
+                "case when s.is_called then s.last_value + " + ALLOCATION_SIZE + " else s.last_value end",
+                Long.class);
+    }
+
+    /**
+     * Refresh tokens used to be stored in plain text in refresh_token.token.
+     * ddl-auto only adds the token_hash column next to it, and rows are
+     * updated in place on every login, so the old values would never go
+     * away. They are hashed the way RefreshTokenService hashes them, so
+     * signed-in users keep their sessions, and the column is dropped. Rows
+     * that still have no hash cannot be used and are deleted.
+     */
+    void hashPlaintextRefreshTokens() {
+        if (!exists("refresh_token"))
+            return;
+        if (hasColumn("refresh_token", "token"))
+            jdbcTemplate.update("update refresh_token " +
+                    "set token_hash = encode(sha256(convert_to(token, 'UTF8')), 'hex') " +
+                    "where token_hash is null and token is not null");
+        jdbcTemplate.update("delete from refresh_token where token_hash is null");
+        jdbcTemplate.execute("alter table refresh_token drop column if exists token");
+    }
+
+    /**
+     * Idempotency records written before the request hash was kept have
+     * none, and ddl-auto does not add not null to an existing column. They
+     * expire after {@code idempotency.ttl} anyway, so they are deleted
+     * rather than replayed for any body.
+     */
+    void requireIdempotencyRequestHash() {
+        if (!exists("idempotency_keys"))
+            return;
+        jdbcTemplate.update("delete from idempotency_keys where request_hash is null");
+        jdbcTemplate.execute("alter table idempotency_keys alter column request_hash set not null");
+    }
+
+    private boolean hasColumn(String table, String column) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from information_schema.columns " +
+                "where table_schema = current_schema() and table_name = ? and column_name = ?)",
+                Boolean.class, table, column));
+    }
+
+    private boolean exists(String relation) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select to_regclass(?) is not null", Boolean.class, relation));
+    }
+}
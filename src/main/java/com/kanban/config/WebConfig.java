@@ -1,17 +1,24 @@
 package com.kanban.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpOutputMessage;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebMvc
 public class WebConfig {
 
+    @Value("${web.async.request-timeout:PT30M}")
+    private Duration asyncRequestTimeout;
+
     @Bean
     public WebMvcConfigurer corsConfig() {
         return new WebMvcConfigurer() {
@@ -29,6 +36,12 @@ public class WebConfig {
                         .allowCredentials(true);
 
             }
+
+            // Streaming exports outlive the default async request timeout.
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setDefaultTimeout(asyncRequestTimeout.toMillis());
+            }
         };
     }
 }
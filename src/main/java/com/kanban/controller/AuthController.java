@@ -14,6 +14,7 @@ import com.kanban.security.JwtService;
 import com.kanban.security.RefreshTokenService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -83,8 +84,8 @@ public class AuthController {
 
         if (authentication.isAuthenticated()) {
             JwtResponse jwtResponse = JwtResponse.builder()
-                    .accessToken(jwtService.generateToken(user.get().getEmail()))
-                    .refreshToken(refreshTokenService.createRefreshToken(user.get().getEmail()).getToken())
+                    .accessToken(jwtService.generateToken(user.get()))
+                    .refreshToken(refreshTokenService.createRefreshToken(user.get().getEmail()))
                     .build();
             return ResponseEntity.ok().body(jwtResponse);
         } else {
@@ -94,8 +95,11 @@ public class AuthController {
 
     @PostMapping("/logout")
     public ResponseEntity<?> logout(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
             @RequestBody String refreshToken
     ) {
+        if (authorization != null && authorization.startsWith("Bearer "))
+            jwtService.revokeToken(authorization.substring(7));
         Optional<RefreshToken> deletedRefreshToken = refreshTokenService.deleteRefreshToken(refreshToken);
         if (deletedRefreshToken.isPresent()) {
             return ResponseEntity.ok().body("You've been signed out!");
@@ -105,13 +109,13 @@ public class AuthController {
 
     @PostMapping("/refreshToken")
     public ResponseEntity<?> refreshToken(@RequestBody RefreshTokenRequest refreshTokenRequest) {
-        Optional<RefreshToken> refreshTokenOpt = refreshTokenService.findByToken(refreshTokenRequest.getToken());
+        Optional<RefreshToken> refreshTokenOpt = refreshTokenService.findValidToken(refreshTokenRequest.getToken());
 
         if (refreshTokenOpt.isEmpty()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid refresh token");
         }
 
-        RefreshToken refreshToken = refreshTokenService.verifyExpiration(refreshTokenOpt.get());
+        RefreshToken refreshToken = refreshTokenOpt.get();
         Optional<UserInfo> userInfoOpt = userInfoRepository.findById(refreshToken.getUserId());
 
         if (userInfoOpt.isEmpty()) {
@@ -119,7 +123,7 @@ public class AuthController {
         }
 
         UserInfo userInfo = userInfoOpt.get();
-        String accessToken = jwtService.generateToken(userInfo.getEmail());
+        String accessToken = jwtService.generateToken(userInfo);
         JwtResponse jwtResponse = JwtResponse.builder()
                 .accessToken(accessToken)
                 .refreshToken(refreshTokenRequest.getToken())
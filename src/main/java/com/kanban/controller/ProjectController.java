@@ -1,27 +1,33 @@
 package com.kanban.controller;
 
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kanban.model.Project;
 import com.kanban.model.dto.ProjectDTO;
+import com.kanban.model.projection.ProjectVersionStamp;
+import com.kanban.service.IdempotencyService;
+import com.kanban.service.PatchRebaseService;
 import com.kanban.service.ProjectService;
-import com.kanban.util.PatchUtils;
+import com.kanban.service.ProjectStatsService;
+import com.kanban.util.ETagUtils;
 import jakarta.validation.Valid;
-import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.security.Principal;
+import java.util.Optional;
+
 
 @RestController
 @RequestMapping("/api/projects")
@@ -29,10 +35,11 @@ import org.springframework.web.server.ResponseStatusException;
 public class ProjectController {
 
     private final ProjectService projectService;
-    private final PatchUtils patchUtils;
-    private final ObjectMapper objectMapper;
-    private final Validator validator;
+    private final ProjectStatsService projectStatsService;
+    private final PatchRebaseService patchRebaseService;
+    private final IdempotencyService idempotencyService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final ETagUtils etagUtils;
 
     @GetMapping("/getAll")
     public ResponseEntity<?> getAllProjects(
@@ -46,15 +53,42 @@ public class ProjectController {
     }
 
     @GetMapping("/get/{id}")
-    public ResponseEntity<?> getProjectById(@PathVariable Long id) {
-        return ResponseEntity.ok(projectService.getProjectById(id));
+    public ResponseEntity<?> getProjectById(@PathVariable Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<ProjectVersionStamp> stamp = projectService.getProjectVersionStamp(id);
+            if (stamp.isPresent() && request.checkNotModified(etagUtils.projectETag(id, stamp.get())))
+                return null;
+        }
+        Optional<Project> project = projectService.getProjectById(id);
+        if (project.isEmpty())
+            return ResponseEntity.ok(project);
+        return ResponseEntity.ok().eTag(etagUtils.projectETag(project.get())).body(project.get());
+    }
+
+    @GetMapping("/{id}/board")
+    public ResponseEntity<?> getProjectBoard(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(projectService.getBoard(id, limit));
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<?> getProjectStats(@PathVariable Long id) {
+        return ResponseEntity.ok(projectStatsService.getStats(id));
     }
 
     @PostMapping("/new")
-    public ResponseEntity<?> createProject(@RequestBody Project project) {
-        ProjectDTO newProject = projectService.saveNewProject(project);
-        messagingTemplate.convertAndSend("/topic/projects", newProject);
-        return ResponseEntity.ok(newProject);
+    public ResponseEntity<?> createProject(
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            Principal principal,
+            @RequestBody Project project
+    ) {
+        IdempotencyService.Outcome<ProjectDTO> outcome = idempotencyService.execute("projects", principal,
+                idempotencyKey, project, ProjectDTO.class, () -> projectService.saveNewProject(project));
+        if (!outcome.replayed())
+            messagingTemplate.convertAndSend("/topic/projects", outcome.response());
+        return ResponseEntity.ok(outcome.response());
     }
 
     @PutMapping("/update/{id}")
@@ -76,25 +110,14 @@ public class ProjectController {
             consumes = "application/merge-patch+json")
     public ResponseEntity<?> updateProject(
             @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean rebase,
             @RequestBody JsonNode patchNode
     ) {
-        try {
-            Project existingProject = projectService.getProjectById(id)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-
-            JsonNode existingNode = objectMapper.valueToTree(existingProject);
-            JsonNode merged = patchUtils.merge(existingNode, patchNode);
-
-            Project patchedProject = objectMapper.treeToValue(merged, Project.class);
-            patchedProject.setId(existingProject.getId());
-            validator.validate(patchedProject);
-
-            ProjectDTO savedProject = projectService.savePatchedProject(id, patchedProject);
-            messagingTemplate.convertAndSend("/topic/projects", savedProject);
-            return ResponseEntity.ok(savedProject);
-        } catch (JsonProcessingException e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
-        }
+        ProjectDTO savedProject = rebase
+                ? patchRebaseService.withRetries(Project.class, () -> projectService.savePatchedProject(id, patchNode, true))
+                : projectService.savePatchedProject(id, patchNode);
+        messagingTemplate.convertAndSend("/topic/projects", savedProject);
+        return ResponseEntity.ok(savedProject);
     }
 
 
@@ -1,27 +1,50 @@
 package com.kanban.controller;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kanban.model.Task;
+import com.kanban.model.dto.BulkDeleteResult;
+import com.kanban.model.dto.BulkPatchResult;
+import com.kanban.model.dto.BulkTransitionResult;
 import com.kanban.model.dto.TaskDTO;
+import com.kanban.model.dto.TaskImportResult;
+import com.kanban.model.enums.TaskExportFormat;
+import com.kanban.model.enums.TaskPriority;
+import com.kanban.model.enums.TaskStatus;
+import com.kanban.model.payload.BulkDeleteRequest;
+import com.kanban.model.payload.BulkPatchRequest;
+import com.kanban.model.payload.BulkTransitionRequest;
+import com.kanban.model.payload.TaskFilter;
+import com.kanban.model.payload.TaskMoveRequest;
+import com.kanban.service.IdempotencyService;
+import com.kanban.service.PatchRebaseService;
+import com.kanban.service.TaskExportService;
+import com.kanban.service.TaskImportService;
+import com.kanban.service.TaskPatchCoalescer;
 import com.kanban.service.TaskService;
-import com.kanban.util.PatchUtils;
+import com.kanban.util.ETagUtils;
 import jakarta.validation.Valid;
-import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.Set;
 
 
 @RestController
@@ -30,39 +53,110 @@ import java.util.Optional;
 public class TaskController {
 
     private final TaskService taskService;
-    private final PatchUtils patchUtils;
-    private final ObjectMapper objectMapper;
-    private final Validator validator;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
+    private final PatchRebaseService patchRebaseService;
+    private final IdempotencyService idempotencyService;
+    private final TaskPatchCoalescer taskPatchCoalescer;
     private final SimpMessagingTemplate messagingTemplate;
+    private final ETagUtils etagUtils;
 
     @GetMapping("/getAll")
     public ResponseEntity<?> getTasks(
             @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
             @PageableDefault(
                 size = 10,
                 sort = "createdAt",
                 direction = Sort.Direction.DESC
             ) Pageable pageable
     ) {
-        Page<TaskDTO> page = taskService.getTasks(status, pageable);
-        return ResponseEntity.ok(page.getContent());
+        if (cursor != null)
+            return ResponseEntity.ok(taskService.getTasksByCursor(status, cursor, pageable.getPageSize()));
+        return ResponseEntity.ok(taskService.getTasks(status, pageable));
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<?> filterTasks(
+            @RequestParam(required = false) Set<TaskStatus> status,
+            @RequestParam(required = false) Set<TaskPriority> priority,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(required = false) Long projectId,
+            @PageableDefault(
+                size = 10,
+                sort = "createdAt",
+                direction = Sort.Direction.DESC
+            ) Pageable pageable
+    ) {
+        TaskFilter filter = TaskFilter.builder()
+                .statuses(status)
+                .priorities(priority)
+                .dueFrom(dueFrom)
+                .dueTo(dueTo)
+                .assigneeId(assigneeId)
+                .projectId(projectId)
+                .build();
+        return ResponseEntity.ok(taskService.filterTasks(filter, pageable));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTasks(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(taskService.searchTasks(q, limit));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        TaskExportFormat exportFormat = taskExportService.parseFormat(format);
+        StreamingResponseBody body = out -> taskExportService.export(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"tasks." + exportFormat.getExtension() + "\"")
+                .body(body);
     }
 
     @GetMapping("/get/{id}")
-    public ResponseEntity<?> getTaskById(@PathVariable Long id) {
+    public ResponseEntity<?> getTaskById(@PathVariable Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = taskService.getTaskVersion(id);
+            if (version.isPresent() && request.checkNotModified(etagUtils.taskETag(id, version.get())))
+                return null;
+        }
         Optional<Task> taskOptional = taskService.getTaskById(id);
         if (taskOptional.isPresent()) {
-            return ResponseEntity.ok(taskOptional.get());
+            Task task = taskOptional.get();
+            return ResponseEntity.ok().eTag(etagUtils.taskETag(task)).body(task);
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
     @PostMapping("/new")
-    public ResponseEntity<?> createTask(@RequestBody Task task) {
-        TaskDTO newTask = taskService.saveNewTask(task);
-        messagingTemplate.convertAndSend("/topic/tasks", newTask);
-        return ResponseEntity.status(HttpStatus.CREATED).body(newTask);
+    public ResponseEntity<?> createTask(
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            Principal principal,
+            @RequestBody Task task
+    ) {
+        IdempotencyService.Outcome<TaskDTO> outcome = idempotencyService.execute("tasks", principal,
+                idempotencyKey, task, TaskDTO.class, () -> taskService.saveNewTask(task));
+        if (!outcome.replayed())
+            messagingTemplate.convertAndSend("/topic/tasks", outcome.response());
+        return ResponseEntity.status(HttpStatus.CREATED).body(outcome.response());
+    }
+
+    @PostMapping(path = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<?> importTasks(InputStream body) throws IOException {
+        TaskImportResult result = taskImportService.importTasks(body);
+        if (result.getImported() > 0)
+            messagingTemplate.convertAndSend("/topic/tasks", result);
+        return ResponseEntity.ok(result);
     }
 
     @PutMapping("/update/{id}")
@@ -84,26 +178,31 @@ public class TaskController {
             consumes = "application/merge-patch+json")
     public ResponseEntity<?> patchTask(
             @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean rebase,
             @RequestBody JsonNode patchNode
     ) {
-        try {
-            Task existingTask = taskService.getTaskById(id)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-
-            JsonNode existingNode = objectMapper.valueToTree(existingTask);
-            JsonNode merged = patchUtils.merge(existingNode, patchNode);
-            Task patchedTask = objectMapper.treeToValue(merged, Task.class);
-            patchedTask.setId(existingTask.getId());
-            validator.validate(patchedTask);
-
-            TaskDTO savedTask = taskService.savePatchedTask(id, patchedTask);
-            messagingTemplate.convertAndSend("/topic/tasks", savedTask);
-            return ResponseEntity.ok(savedTask);
-        } catch (JsonProcessingException e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
+        if (!rebase && taskPatchCoalescer.isEnabled()) {
+            TaskPatchCoalescer.Result result = taskPatchCoalescer.savePatchedTask(id, patchNode);
+            if (result.broadcast())
+                messagingTemplate.convertAndSend("/topic/tasks", result.task());
+            return ResponseEntity.ok(result.task());
         }
+        TaskDTO savedTask = rebase
+                ? patchRebaseService.withRetries(Task.class, () -> taskService.savePatchedTask(id, patchNode, true))
+                : taskService.savePatchedTask(id, patchNode);
+        messagingTemplate.convertAndSend("/topic/tasks", savedTask);
+        return ResponseEntity.ok(savedTask);
     }
 
+    @PostMapping("/move/{id}")
+    public ResponseEntity<?> moveTask(
+            @PathVariable Long id,
+            @RequestBody TaskMoveRequest move
+    ) {
+        TaskDTO movedTask = taskService.moveTask(id, move);
+        messagingTemplate.convertAndSend("/topic/tasks", movedTask);
+        return ResponseEntity.ok(movedTask);
+    }
 
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<?> deleteTask(@PathVariable Long id) {
@@ -111,4 +210,28 @@ public class TaskController {
         messagingTemplate.convertAndSend("/topic/tasks", id);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
+
+    @PostMapping("/bulkDelete")
+    public ResponseEntity<?> deleteTasks(@Valid @RequestBody BulkDeleteRequest request) {
+        BulkDeleteResult result = taskService.deleteTasks(request.getIds());
+        if (!result.getDeleted().isEmpty())
+            messagingTemplate.convertAndSend("/topic/tasks", result.getDeleted());
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/bulkTransition")
+    public ResponseEntity<?> transitionTasks(@Valid @RequestBody BulkTransitionRequest request) {
+        BulkTransitionResult result = taskService.transitionTasks(request.getStatus(), request.getTasks());
+        if (!result.getUpdated().isEmpty())
+            messagingTemplate.convertAndSend("/topic/tasks", result);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/bulkPatch")
+    public ResponseEntity<?> patchTasks(@Valid @RequestBody BulkPatchRequest request) {
+        BulkPatchResult result = taskService.patchTasks(request.getTasks());
+        if (result.getUpdated() > 0)
+            messagingTemplate.convertAndSend("/topic/tasks", result);
+        return ResponseEntity.ok(result);
+    }
 }
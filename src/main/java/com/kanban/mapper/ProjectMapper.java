@@ -7,6 +7,8 @@ import com.kanban.model.UserInfo;
 import com.kanban.model.dto.ProjectDTO;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 import static java.util.Collections.emptyList;
 
 @Component
@@ -29,4 +31,15 @@ public class ProjectMapper {
                 .build();
     }
 
+    public ProjectDTO projectToDTO(Project project, List<Long> participantIds, List<Long> taskIds) {
+        if (project == null)
+            return null;
+        return ProjectDTO.builder()
+                .id(project.getId())
+                .name(project.getName())
+                .participantIds(participantIds)
+                .taskIds(taskIds)
+                .build();
+    }
+
 }
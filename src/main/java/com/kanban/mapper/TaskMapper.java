@@ -3,9 +3,12 @@ package com.kanban.mapper;
 import com.kanban.model.Task;
 import com.kanban.model.UserInfo;
 import com.kanban.model.dto.TaskDTO;
+import com.kanban.model.projection.BoardTaskRow;
+import com.kanban.model.projection.TaskSummary;
 import org.springframework.stereotype.Component;
 
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.List;
 
 
 @Component
@@ -23,7 +26,64 @@ public class TaskMapper {
                 .status(task.getStatus() != null ? task.getStatus().name() : null)
                 .priority(task.getPriority() != null ? task.getPriority().name() : null)
                 .dueAt(task.getDueAt())
+                .rank(task.getRank())
                 .assigneeIds(task.getTaskAssignees().stream().map(UserInfo::getId).toList())
+                .version(task.getVersion())
+                .build();
+    }
+
+    public TaskDTO taskToDTO(Task task, List<Long> assigneeIds) {
+        if (task == null) {
+            return null;
+        }
+
+        return TaskDTO.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .status(task.getStatus() != null ? task.getStatus().name() : null)
+                .priority(task.getPriority() != null ? task.getPriority().name() : null)
+                .dueAt(task.getDueAt())
+                .rank(task.getRank())
+                .assigneeIds(assigneeIds)
+                .version(task.getVersion())
+                .build();
+    }
+
+    public TaskDTO summaryToDTO(TaskSummary summary, List<Long> assigneeIds) {
+        if (summary == null) {
+            return null;
+        }
+
+        return TaskDTO.builder()
+                .id(summary.getId())
+                .title(summary.getTitle())
+                .description(summary.getDescription())
+                .status(summary.getStatus() != null ? summary.getStatus().name() : null)
+                .priority(summary.getPriority() != null ? summary.getPriority().name() : null)
+                .dueAt(summary.getDueAt())
+                .rank(summary.getRank())
+                .assigneeIds(assigneeIds)
+                .build();
+    }
+
+    public TaskDTO boardRowToDTO(BoardTaskRow row) {
+        if (row == null) {
+            return null;
+        }
+
+        return TaskDTO.builder()
+                .id(row.getId())
+                .title(row.getTitle())
+                .description(row.getDescription())
+                .status(row.getStatus())
+                .priority(row.getPriority())
+                .dueAt(row.getDueAt())
+                .rank(row.getRank())
+                .assigneeIds(row.getAssigneeIds() != null ?
+                        Arrays.stream(row.getAssigneeIds().split(","))
+                                .map(Long::valueOf)
+                                .toList() : List.of())
                 .build();
     }
 
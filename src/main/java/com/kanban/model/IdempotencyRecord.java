@@ -0,0 +1,32 @@
+package com.kanban.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "idempotency_keys",
+        indexes = @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at"))
+public class IdempotencyRecord {
+    @Id
+    @Column(name = "idempotency_key", length = 512)
+    private String key;
+
+    // SHA-256 of the request body.
+    @Column(name = "request_hash", length = 64, nullable = false)
+    private String requestHash;
+
+    @Column(name = "response", columnDefinition = "text", nullable = false)
+    private String response;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
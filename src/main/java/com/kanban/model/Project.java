@@ -21,7 +21,8 @@ import java.util.Set;
 public class Project {
 
         @Id
-        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projects_seq")
+        @SequenceGenerator(name = "projects_seq", sequenceName = "projects_seq", allocationSize = 50)
         private Long id;
 
         @Version
@@ -0,0 +1,45 @@
+package com.kanban.model;
+
+import com.kanban.model.enums.TaskPriority;
+import com.kanban.model.enums.TaskStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "project_task_counters")
+public class ProjectTaskCounter {
+
+        @EmbeddedId
+        private Key id;
+
+        @Column(name = "task_count", nullable = false)
+        private long taskCount;
+
+        @Data
+        @NoArgsConstructor
+        @AllArgsConstructor
+        @Embeddable
+        public static class Key implements Serializable {
+
+                @Column(name = "project_id")
+                private Long projectId;
+
+                @Enumerated(EnumType.STRING)
+                @Column(name = "status")
+                private TaskStatus status;
+
+                @Enumerated(EnumType.STRING)
+                @Column(name = "priority")
+                private TaskPriority priority;
+        }
+}
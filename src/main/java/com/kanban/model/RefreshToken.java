@@ -13,15 +13,21 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "refresh_token")
+@Table(name = "refresh_token",
+        uniqueConstraints = @UniqueConstraint(name = "uk_refresh_token_token_hash", columnNames = "token_hash"),
+        indexes = {
+                @Index(name = "idx_refresh_token_expiry_date", columnList = "expiry_date"),
+                @Index(name = "idx_refresh_token_user_id", columnList = "user_id")
+        })
 public class RefreshToken {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
     private Long id;
 
-    @Column(name = "token")
-    private String token;
+    // SHA-256 of the token handed to the client; the token itself is never stored.
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
 
     @Column(name = "expiry_date")
     private Instant expiryDate;
@@ -1,6 +1,7 @@
 package com.kanban.model;
 
 import com.kanban.model.enums.EnumRole;
+import com.kanban.security.PrincipalCacheInvalidator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,6 +13,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@EntityListeners(PrincipalCacheInvalidator.class)
 @Table(name = "roles")
 public class Role {
     @Id
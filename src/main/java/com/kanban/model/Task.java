@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.kanban.model.enums.TaskPriority;
 import com.kanban.model.enums.TaskStatus;
+import com.kanban.util.RankUtils;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -25,11 +26,19 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks",
+        indexes = {
+                @Index(name = "idx_tasks_created_at_id", columnList = "created_at, id"),
+                @Index(name = "idx_tasks_status_created_at_id", columnList = "status, created_at, id"),
+                @Index(name = "idx_tasks_priority_created_at_id", columnList = "priority, created_at, id"),
+                @Index(name = "idx_tasks_due_at", columnList = "due_at"),
+                @Index(name = "idx_tasks_status_rank", columnList = "status, rank")
+        })
 public class Task {
 
         @Id
-        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+        @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
         private Long id;
 
         @Version
@@ -59,11 +68,16 @@ public class Task {
 
         private LocalDateTime dueAt;
 
+        // Fractional position inside the status column, see RankUtils.
+        @Column(length = RankUtils.MAX_LENGTH)
+        private String rank;
+
         @ManyToMany
         @JoinTable(
                 name = "task_assignees",
                 joinColumns = @JoinColumn(name = "task_id"),
-                inverseJoinColumns = @JoinColumn(name = "user_id"))
+                inverseJoinColumns = @JoinColumn(name = "user_id"),
+                indexes = @Index(name = "idx_task_assignees_user_task", columnList = "user_id, task_id"))
         @JsonIgnoreProperties({"userProjects", "password"})
         private Set<UserInfo> taskAssignees = new HashSet<>();
 
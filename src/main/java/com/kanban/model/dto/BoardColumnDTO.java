@@ -0,0 +1,21 @@
+package com.kanban.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardColumnDTO {
+
+    private String status;
+    private long count;
+    private List<TaskDTO> tasks;
+
+}
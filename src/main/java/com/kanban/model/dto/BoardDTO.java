@@ -0,0 +1,20 @@
+package com.kanban.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardDTO {
+
+    private Long projectId;
+    private List<BoardColumnDTO> columns;
+
+}
@@ -0,0 +1,22 @@
+package com.kanban.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransitionResult {
+
+    private String status;
+    private List<Long> updated;
+    private List<Long> conflicts;
+    private List<Long> notFound;
+
+}
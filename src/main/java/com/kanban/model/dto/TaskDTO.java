@@ -21,6 +21,9 @@ public class TaskDTO {
     private String status;
     private String priority;
     private LocalDateTime dueAt;
+    private String rank;
     private List<Long> assigneeIds;
+    // Only set when mapped from the entity, i.e. in responses to writes.
+    private Long version;
 
 }
@@ -0,0 +1,18 @@
+package com.kanban.model.payload;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkDeleteRequest {
+    @NotEmpty
+    @Size(max = 1000)
+    private List<Long> ids;
+}
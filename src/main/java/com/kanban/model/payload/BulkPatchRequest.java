@@ -0,0 +1,33 @@
+package com.kanban.model.payload;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkPatchRequest {
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@Valid @NotNull TaskPatch> tasks;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TaskPatch {
+        @NotNull
+        private Long id;
+        @NotNull
+        private Long version;
+        @NotNull
+        private JsonNode patch;
+    }
+}
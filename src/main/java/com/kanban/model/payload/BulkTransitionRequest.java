@@ -0,0 +1,34 @@
+package com.kanban.model.payload;
+
+import com.kanban.model.enums.TaskStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkTransitionRequest {
+    @NotNull
+    private TaskStatus status;
+
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@Valid @NotNull ExpectedVersion> tasks;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ExpectedVersion {
+        @NotNull
+        private Long id;
+        @NotNull
+        private Long version;
+    }
+}
@@ -0,0 +1,24 @@
+package com.kanban.model.payload;
+
+import com.kanban.model.enums.TaskPriority;
+import com.kanban.model.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilter {
+    private Set<TaskStatus> statuses;
+    private Set<TaskPriority> priorities;
+    private LocalDateTime dueFrom;
+    private LocalDateTime dueTo;
+    private Long assigneeId;
+    private Long projectId;
+}
@@ -0,0 +1,33 @@
+package com.kanban.model.payload;
+
+import com.kanban.model.enums.TaskPriority;
+import com.kanban.model.enums.TaskStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportRecord {
+    @NotBlank
+    @Size(max = 255)
+    private String title;
+    @Size(max = 2000)
+    private String description;
+    @NotNull
+    private TaskStatus status;
+    @NotNull
+    private TaskPriority priority;
+    private LocalDateTime dueAt;
+    private List<Long> assigneeIds;
+    private Long projectId;
+}
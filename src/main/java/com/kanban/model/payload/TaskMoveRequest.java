@@ -0,0 +1,20 @@
+package com.kanban.model.payload;
+
+import com.kanban.model.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskMoveRequest {
+    // Target column; the task stays in its own column when omitted.
+    private TaskStatus status;
+    // Neighbours the task is dropped between; null at either end of the column.
+    private Long previousId;
+    private Long nextId;
+    private Long version;
+}
@@ -0,0 +1,18 @@
+package com.kanban.model.projection;
+
+import java.time.LocalDateTime;
+
+
+public interface BoardTaskRow {
+
+    Long getId();
+    String getTitle();
+    String getDescription();
+    String getStatus();
+    String getPriority();
+    LocalDateTime getDueAt();
+    String getRank();
+    Long getColumnCount();
+    String getAssigneeIds();
+
+}
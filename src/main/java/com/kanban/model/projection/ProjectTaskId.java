@@ -0,0 +1,9 @@
+package com.kanban.model.projection;
+
+
+public interface ProjectTaskId {
+
+    Long getProjectId();
+    Long getTaskId();
+
+}
@@ -0,0 +1,9 @@
+package com.kanban.model.projection;
+
+
+public interface ProjectVersionStamp {
+
+    Long getVersion();
+    String getTaskDigest();
+
+}
@@ -0,0 +1,9 @@
+package com.kanban.model.projection;
+
+
+public interface RankColumn {
+
+    Long getProjectId();
+    String getStatus();
+
+}
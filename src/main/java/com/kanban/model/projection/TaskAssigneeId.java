@@ -0,0 +1,9 @@
+package com.kanban.model.projection;
+
+
+public interface TaskAssigneeId {
+
+    Long getTaskId();
+    Long getUserId();
+
+}
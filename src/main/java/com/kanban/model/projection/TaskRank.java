@@ -0,0 +1,13 @@
+package com.kanban.model.projection;
+
+import com.kanban.model.enums.TaskStatus;
+
+
+public interface TaskRank {
+
+    Long getId();
+    TaskStatus getStatus();
+    String getRank();
+    Long getProjectId();
+
+}
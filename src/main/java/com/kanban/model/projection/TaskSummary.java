@@ -0,0 +1,20 @@
+package com.kanban.model.projection;
+
+import com.kanban.model.enums.TaskPriority;
+import com.kanban.model.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+
+
+public interface TaskSummary {
+
+    Long getId();
+    String getTitle();
+    String getDescription();
+    TaskStatus getStatus();
+    TaskPriority getPriority();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getDueAt();
+    String getRank();
+
+}
@@ -1,9 +1,126 @@
 package com.kanban.repository;
 
 import com.kanban.model.Project;
+import com.kanban.model.projection.BoardTaskRow;
+import com.kanban.model.projection.ProjectTaskId;
+import com.kanban.model.projection.ProjectVersionStamp;
+import com.kanban.model.projection.RankColumn;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+
+    // The digest must match ETagUtils.taskDigest.
+    @Query(value = "select p.version as \"version\", " +
+            "coalesce((select md5(string_agg(t.id || ':' || t.version, ',' order by t.id)) " +
+            "from project_tasks pt join tasks t on t.id = pt.task_id " +
+            "where pt.project_id = p.id), md5('')) as \"taskDigest\" " +
+            "from projects p where p.id = :id",
+            nativeQuery = true)
+    Optional<ProjectVersionStamp> findVersionStampById(@Param("id") Long id);
+
+    @Query("select p.id from Project p where p.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "select pt.project_id from project_tasks pt where pt.task_id = :taskId", nativeQuery = true)
+    Optional<Long> findProjectIdByTaskId(@Param("taskId") Long taskId);
+
+    @Query(value = "select distinct pt.project_id from project_tasks pt where pt.task_id in (:taskIds)",
+            nativeQuery = true)
+    List<Long> findProjectIdsByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+
+    @Query(value = "select pt.project_id as \"projectId\", pt.task_id as \"taskId\" " +
+            "from project_tasks pt where pt.task_id in (:taskIds)",
+            nativeQuery = true)
+    List<ProjectTaskId> findProjectTaskIds(@Param("taskIds") Collection<Long> taskIds);
+
+    @Modifying
+    @Query(value = "delete from project_tasks where task_id in (:taskIds)", nativeQuery = true)
+    void deleteTaskLinks(@Param("taskIds") Collection<Long> taskIds);
+
+    @Query(value = "select pt.task_id from project_tasks pt where pt.project_id = :projectId", nativeQuery = true)
+    List<Long> findTaskIds(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "insert into project_tasks (project_id, task_id) " +
+            "select :projectId, unnest(cast(:taskIds as bigint[]))",
+            nativeQuery = true)
+    void linkTasks(@Param("projectId") Long projectId, @Param("taskIds") Long[] taskIds);
+
+    @Modifying
+    @Query(value = "delete from project_tasks where project_id = :projectId and task_id in (:taskIds)",
+            nativeQuery = true)
+    void unlinkTasks(@Param("projectId") Long projectId, @Param("taskIds") Collection<Long> taskIds);
+
+    @Query(value = "select pp.user_id from project_participants pp where pp.project_id = :projectId",
+            nativeQuery = true)
+    List<Long> findParticipantIds(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "insert into project_participants (project_id, user_id) " +
+            "select :projectId, unnest(cast(:userIds as bigint[]))",
+            nativeQuery = true)
+    void linkParticipants(@Param("projectId") Long projectId, @Param("userIds") Long[] userIds);
+
+    @Modifying
+    @Query(value = "delete from project_participants where project_id = :projectId and user_id in (:userIds)",
+            nativeQuery = true)
+    void unlinkParticipants(@Param("projectId") Long projectId, @Param("userIds") Collection<Long> userIds);
+
+    // Top tasks of every status column in rank order (unranked ones last,
+    // newest first), capped per column, with the full column size and the
+    // assignee ids folded into each row.
+    @Query(value = "select b.id as \"id\", b.title as \"title\", b.description as \"description\", " +
+            "b.status as \"status\", b.priority as \"priority\", b.due_at as \"dueAt\", b.rank as \"rank\", " +
+            "b.column_count as \"columnCount\", " +
+            "(select string_agg(cast(ta.user_id as varchar), ',') from task_assignees ta " +
+            "where ta.task_id = b.id) as \"assigneeIds\" " +
+            "from (" +
+            "select t.id, t.title, t.description, t.status, t.priority, t.due_at, t.rank, " +
+            "row_number() over (partition by t.status " +
+            "order by t.rank nulls last, t.created_at desc, t.id desc) as position, " +
+            "count(*) over (partition by t.status) as column_count " +
+            "from project_tasks pt join tasks t on t.id = pt.task_id " +
+            "where pt.project_id = :projectId" +
+            ") b " +
+            "where b.position <= :columnLimit " +
+            "order by b.status, b.position",
+            nativeQuery = true)
+    List<BoardTaskRow> findBoardRows(@Param("projectId") Long projectId,
+                                     @Param("columnLimit") int columnLimit);
+
+    // Project columns whose ranks have grown past maxLength or that still
+    // hold unranked tasks.
+    @Query(value = "select pt.project_id as \"projectId\", t.status as \"status\" " +
+            "from project_tasks pt join tasks t on t.id = pt.task_id " +
+            "group by pt.project_id, t.status " +
+            "having max(length(t.rank)) > :maxLength or count(t.rank) < count(*)",
+            nativeQuery = true)
+    List<RankColumn> findColumnsToRerank(@Param("maxLength") int maxLength);
+
+    @Query(value = "select t.id from project_tasks pt join tasks t on t.id = pt.task_id " +
+            "where pt.project_id = :projectId and t.status = :status " +
+            "order by t.rank nulls last, t.created_at desc, t.id desc",
+            nativeQuery = true)
+    List<Long> findColumnTaskIds(@Param("projectId") Long projectId, @Param("status") String status);
+
+    @Query(value = "select min(t.rank) from project_tasks pt join tasks t on t.id = pt.task_id " +
+            "where pt.project_id = :projectId and t.status = :status",
+            nativeQuery = true)
+    Optional<String> findMinColumnRank(@Param("projectId") Long projectId, @Param("status") String status);
+
+    // Serializes everything that reads ranks to write new ones in a column:
+    // moves, reranks and tasks placed on top. Held until the transaction ends.
+    @Query(value = "select count(*) from (select pg_advisory_xact_lock(" +
+            "hashtextextended('task-column:' || :projectId || ':' || :status, 0))) l",
+            nativeQuery = true)
+    long lockColumn(@Param("projectId") Long projectId, @Param("status") String status);
 }
@@ -0,0 +1,80 @@
+package com.kanban.repository;
+
+import com.kanban.model.ProjectTaskCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProjectTaskCounterRepository extends JpaRepository<ProjectTaskCounter, ProjectTaskCounter.Key> {
+
+    List<ProjectTaskCounter> findByIdProjectId(Long projectId);
+
+    @Modifying
+    @Query(value = "insert into project_task_counters (project_id, status, priority, task_count) " +
+            "values (:projectId, :status, :priority, :delta) " +
+            "on conflict (project_id, status, priority) " +
+            "do update set task_count = project_task_counters.task_count + excluded.task_count",
+            nativeQuery = true)
+    void addToCount(@Param("projectId") Long projectId,
+                    @Param("status") String status,
+                    @Param("priority") String priority,
+                    @Param("delta") long delta);
+
+    // Must run while the project_tasks rows of the removed tasks still exist.
+    @Modifying
+    @Query(value = "update project_task_counters c set task_count = c.task_count - d.removed " +
+            "from (select pt.project_id, t.status, t.priority, count(*) as removed " +
+            "from project_tasks pt join tasks t on t.id = pt.task_id " +
+            "where pt.task_id in (:taskIds) " +
+            "group by pt.project_id, t.status, t.priority) d " +
+            "where c.project_id = d.project_id and c.status = d.status and c.priority = d.priority",
+            nativeQuery = true)
+    void subtractCountsForTasks(@Param("taskIds") Collection<Long> taskIds);
+
+    // Must run once the project_tasks rows of the added tasks exist.
+    @Modifying
+    @Query(value = "insert into project_task_counters (project_id, status, priority, task_count) " +
+            "select pt.project_id, t.status, t.priority, count(*) " +
+            "from project_tasks pt join tasks t on t.id = pt.task_id " +
+            "where pt.task_id in (:taskIds) " +
+            "group by pt.project_id, t.status, t.priority " +
+            "on conflict (project_id, status, priority) " +
+            "do update set task_count = project_task_counters.task_count + excluded.task_count",
+            nativeQuery = true)
+    void addCountsForTasks(@Param("taskIds") Collection<Long> taskIds);
+
+    @Modifying
+    @Query(value = "delete from project_task_counters where project_id = :projectId", nativeQuery = true)
+    void deleteByProjectId(@Param("projectId") Long projectId);
+
+    // A concurrent write may recreate a counter after deleteByProjectId; it
+    // is added to instead of failing the rebuild on the unique key.
+    @Modifying
+    @Query(value = "insert into project_task_counters (project_id, status, priority, task_count) " +
+            "select pt.project_id, t.status, t.priority, count(*) " +
+            "from project_tasks pt join tasks t on t.id = pt.task_id " +
+            "where pt.project_id = :projectId " +
+            "group by pt.project_id, t.status, t.priority " +
+            "on conflict (project_id, status, priority) " +
+            "do update set task_count = project_task_counters.task_count + excluded.task_count",
+            nativeQuery = true)
+    void insertCountsForProject(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "delete from project_task_counters", nativeQuery = true)
+    void deleteAllCounts();
+
+    @Modifying
+    @Query(value = "insert into project_task_counters (project_id, status, priority, task_count) " +
+            "select pt.project_id, t.status, t.priority, count(*) " +
+            "from project_tasks pt join tasks t on t.id = pt.task_id " +
+            "group by pt.project_id, t.status, t.priority",
+            nativeQuery = true)
+    void insertAllCounts();
+}
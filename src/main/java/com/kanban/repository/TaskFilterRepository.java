@@ -0,0 +1,12 @@
+package com.kanban.repository;
+
+import com.kanban.model.Task;
+import com.kanban.model.projection.TaskSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TaskFilterRepository {
+    List<TaskSummary> findSummaries(Specification<Task> spec, Pageable pageable);
+}
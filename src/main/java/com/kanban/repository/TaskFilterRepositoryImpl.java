@@ -0,0 +1,70 @@
+package com.kanban.repository;
+
+import com.kanban.model.Task;
+import com.kanban.model.projection.TaskSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs a task {@link Specification} as a tuple query over the summary
+ * columns only, so filtered listings never hydrate {@link Task} entities.
+ */
+public class TaskFilterRepositoryImpl implements TaskFilterRepository {
+
+    private static final List<String> SUMMARY_PROPERTIES =
+            List.of("id", "title", "description", "status", "priority", "createdAt", "dueAt", "rank");
+
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskSummary> findSummaries(Specification<Task> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        SUMMARY_PROPERTIES.forEach(property -> selections.add(root.get(property).alias(property)));
+        query.multiselect(selections);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null)
+            query.where(predicate);
+
+        List<Order> orders = new ArrayList<>(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        orders.add(cb.desc(root.get("id")));
+        query.orderBy(orders);
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList().stream()
+                .map(this::toSummary)
+                .toList();
+    }
+
+    private TaskSummary toSummary(Tuple tuple) {
+        Map<String, Object> values = new HashMap<>();
+        for (TupleElement<?> element : tuple.getElements())
+            values.put(element.getAlias(), tuple.get(element));
+        return projectionFactory.createProjection(TaskSummary.class, values);
+    }
+}
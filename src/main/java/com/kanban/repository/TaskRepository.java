@@ -2,12 +2,123 @@ package com.kanban.repository;
 
 import com.kanban.model.Task;
 import com.kanban.model.enums.TaskStatus;
-import org.springframework.data.domain.Page;
+import com.kanban.model.projection.TaskAssigneeId;
+import com.kanban.model.projection.TaskRank;
+import com.kanban.model.projection.TaskSummary;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    Page<Task> findByStatus(TaskStatus status, Pageable pageable);
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskFilterRepository {
+
+    int EXPORT_FETCH_SIZE = 500;
+
+    String SELECT_SUMMARY = "select t.id as id, t.title as title, t.description as description, " +
+            "t.status as status, t.priority as priority, t.createdAt as createdAt, t.dueAt as dueAt, " +
+            "t.rank as rank " +
+            "from Task t ";
+
+    List<TaskSummary> findSummariesBy(Pageable pageable);
+
+    List<TaskSummary> findSummariesByStatus(TaskStatus status, Pageable pageable);
+
+    List<TaskSummary> findSummariesByIdIn(Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_SUMMARY)
+    Stream<TaskSummary> streamSummaries();
+
+    // Keyset pages, newest first. The redundant "createdAt <=" bound lets the
+    // (created_at, id) index be range-scanned instead of filtered.
+    @Query(SELECT_SUMMARY + "order by t.createdAt desc, t.id desc")
+    List<TaskSummary> findFirstPage(Limit limit);
+
+    @Query(SELECT_SUMMARY +
+            "where t.createdAt <= :createdAt and (t.createdAt < :createdAt or t.id < :id) " +
+            "order by t.createdAt desc, t.id desc")
+    List<TaskSummary> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    Limit limit);
+
+    @Query(SELECT_SUMMARY + "where t.status = :status order by t.createdAt desc, t.id desc")
+    List<TaskSummary> findFirstPageByStatus(@Param("status") TaskStatus status, Limit limit);
+
+    @Query(SELECT_SUMMARY +
+            "where t.status = :status " +
+            "and t.createdAt <= :createdAt and (t.createdAt < :createdAt or t.id < :id) " +
+            "order by t.createdAt desc, t.id desc")
+    List<TaskSummary> findPageAfterByStatus(@Param("status") TaskStatus status,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Limit limit);
+
+    // Read through a server-side cursor; the caller must consume the stream
+    // inside a transaction and detach rows as it goes.
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t order by t.id")
+    Stream<Task> streamAllForExport();
+
+    @Query("select t.id from Task t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from task_assignees where task_id in (:taskIds)", nativeQuery = true)
+    void deleteAssigneeLinks(@Param("taskIds") Collection<Long> taskIds);
+
+    // One versioned UPDATE for the whole batch: each id only moves if it is
+    // still at the version the caller saw. Returns the ids that were updated.
+    @Query(value = "update tasks t set status = :status, version = t.version + 1, updated_at = :now " +
+            "from unnest(cast(:ids as bigint[]), cast(:versions as bigint[])) as e(id, version) " +
+            "where t.id = e.id and t.version = e.version " +
+            "returning t.id",
+            nativeQuery = true)
+    List<Long> transitionStatus(@Param("ids") Long[] ids,
+                                @Param("versions") Long[] versions,
+                                @Param("status") String status,
+                                @Param("now") LocalDateTime now);
+
+    @Query("select t.id as id, t.status as status, t.rank as rank, " +
+            "(select p.id from Project p join p.tasks pt where pt.id = t.id) as projectId " +
+            "from Task t where t.id in :ids")
+    List<TaskRank> findRanksByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Rewrites ranks in place. The rank is part of every task body, so the
+    // version moves too and cached ETags stop matching. Callers hold the
+    // column lock, see ProjectRepository#lockColumn.
+    @Modifying
+    @Query(value = "update tasks t set rank = r.rank, version = t.version + 1 " +
+            "from unnest(cast(:ids as bigint[]), cast(:ranks as varchar[])) as r(id, rank) " +
+            "where t.id = r.id",
+            nativeQuery = true)
+    void updateRanks(@Param("ids") Long[] ids, @Param("ranks") String[] ranks);
+
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query(value = "select ta.task_id as \"taskId\", ta.user_id as \"userId\" " +
+            "from task_assignees ta where ta.task_id in (:taskIds)",
+            nativeQuery = true)
+    List<TaskAssigneeId> findAssigneeIds(@Param("taskIds") Collection<Long> taskIds);
 }
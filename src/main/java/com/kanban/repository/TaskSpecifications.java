@@ -0,0 +1,78 @@
+package com.kanban.repository;
+
+import com.kanban.model.Project;
+import com.kanban.model.Task;
+import com.kanban.model.UserInfo;
+import com.kanban.model.enums.TaskPriority;
+import com.kanban.model.enums.TaskStatus;
+import com.kanban.model.payload.TaskFilter;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> matching(TaskFilter filter) {
+        List<Specification<Task>> specs = new ArrayList<>();
+        if (filter.getStatuses() != null && !filter.getStatuses().isEmpty())
+            specs.add(statusIn(filter.getStatuses()));
+        if (filter.getPriorities() != null && !filter.getPriorities().isEmpty())
+            specs.add(priorityIn(filter.getPriorities()));
+        if (filter.getDueFrom() != null)
+            specs.add(dueFrom(filter.getDueFrom()));
+        if (filter.getDueTo() != null)
+            specs.add(dueTo(filter.getDueTo()));
+        if (filter.getAssigneeId() != null)
+            specs.add(assignedTo(filter.getAssigneeId()));
+        if (filter.getProjectId() != null)
+            specs.add(inProject(filter.getProjectId()));
+        return Specification.allOf(specs);
+    }
+
+    public static Specification<Task> statusIn(Collection<TaskStatus> statuses) {
+        return (root, query, cb) -> root.get("status").in(statuses);
+    }
+
+    public static Specification<Task> priorityIn(Collection<TaskPriority> priorities) {
+        return (root, query, cb) -> root.get("priority").in(priorities);
+    }
+
+    public static Specification<Task> dueFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dueAt"), from);
+    }
+
+    public static Specification<Task> dueTo(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dueAt"), to);
+    }
+
+    public static Specification<Task> assignedTo(Long userId) {
+        return (root, query, cb) -> {
+            Subquery<Long> assigned = query.subquery(Long.class);
+            Root<Task> correlated = assigned.correlate(root);
+            Join<Task, UserInfo> assignee = correlated.join("taskAssignees");
+            assigned.select(assignee.get("id"))
+                    .where(cb.equal(assignee.get("id"), userId));
+            return cb.exists(assigned);
+        };
+    }
+
+    public static Specification<Task> inProject(Long projectId) {
+        return (root, query, cb) -> {
+            Subquery<Long> projectTasks = query.subquery(Long.class);
+            Root<Project> project = projectTasks.from(Project.class);
+            Join<Project, Task> projectTask = project.join("tasks");
+            projectTasks.select(projectTask.get("id"))
+                    .where(cb.equal(project.get("id"), projectId));
+            return root.get("id").in(projectTasks);
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.kanban.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -28,7 +29,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private JwtService jwtService;
     private RestAuthenticationEntryPoint restAuthenticationEntryPoint;
-    private UserDetailsServiceImplementation userDetailsServiceImpl;
+    private PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(
@@ -40,11 +41,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             String authHeader = request.getHeader("Authorization");
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 String token = authHeader.substring(7);
-                String email = jwtService.extractEmail(token);
+                // Parsed and verified once; the claims are reused below.
+                Claims claims = jwtService.parseToken(token);
+                if (jwtService.isRevoked(claims))
+                    throw new BadCredentialsException("JWT token revoked");
+                String email = claims.getSubject();
 
                 if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsServiceImpl.loadUserByEmail(email);
-                    if (jwtService.validateToken(token, userDetails)) {
+                    UserDetails userDetails = jwtService.principalFromClaims(claims)
+                            .orElseGet(() -> principalCache.loadUserByEmail(email));
+                    if (jwtService.isTokenValid(claims, userDetails)) {
                         UsernamePasswordAuthenticationToken authenticationToken =
                                 new UsernamePasswordAuthenticationToken(
                                         userDetails, null, userDetails.getAuthorities()
@@ -3,33 +3,78 @@ package com.kanban.security;
 import com.kanban.model.UserInfo;
 import com.kanban.repository.UserInfoRepository;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
-import java.security.Key;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
 import java.util.function.Function;
 
 
+/**
+ * The signing key and the parser are built once at startup; both are
+ * immutable and thread-safe. Request authentication parses a token once
+ * with {@link #parseToken(String)} and validates the resulting claims.
+ * <p>
+ * Access tokens carry an id, and the user's id, username and role names.
+ * With {@code security.jwt.stateless=true} the principal is rebuilt from
+ * those claims alone, so a request does no query at all; role changes then
+ * take effect when the token is renewed. Revoked token ids are checked
+ * against {@link TokenDenylist} in both modes.
+ */
 @Component
 @Service
 public class JwtService {
 
-    @Autowired
-    private Environment env;
-    @Autowired
-    private UserInfoRepository userInfoRepository;
+    static final String USER_ID_CLAIM = "uid";
+    static final String USERNAME_CLAIM = "username";
+    static final String ROLES_CLAIM = "roles";
+
+    private final UserInfoRepository userInfoRepository;
+    private final TokenDenylist tokenDenylist;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final boolean stateless;
+    private final SecretKey signKey;
+    private final JwtParser jwtParser;
+
+    public JwtService(Environment env, UserInfoRepository userInfoRepository, TokenDenylist tokenDenylist,
+                      VerifiedTokenCache verifiedTokenCache) {
+        this.userInfoRepository = userInfoRepository;
+        this.tokenDenylist = tokenDenylist;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.stateless = env.getProperty("security.jwt.stateless", Boolean.class, false);
+        this.signKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(env.getProperty("jwt.base64-secret")));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signKey)
+                .build();
+    }
+
+    /**
+     * Verifies the signature and expiry of a token and returns its claims.
+     * A token that was verified before is served from
+     * {@link VerifiedTokenCache} until it expires.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is not valid
+     */
+    public Claims parseToken(String token) {
+        if (token == null)
+            return verify(null);
+        return verifiedTokenCache.get(token, this::verify);
+    }
+
+    private Claims verify(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
 
     public String extractEmail(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -40,28 +85,61 @@ public class JwtService {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(parseToken(token));
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) getSignKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Whether already parsed claims belong to the given user and have not
+     * expired. Users loaded by email are matched on their email, without
+     * another lookup.
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        if (claims.getExpiration() == null || claims.getExpiration().before(new Date()))
+            return false;
+        String email = claims.getSubject();
+        if (userDetails instanceof UserDetailsImplementation user)
+            return email != null && email.equals(user.getEmail());
+        Optional<UserInfo> userInfo = userInfoRepository.findByEmail(email);
+        return userInfo.filter(usrInf -> usrInf.getUsername().equals(userDetails.getUsername())).isPresent();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Boolean validateToken(String token, UserDetails userDetails) {
+        return isTokenValid(parseToken(token), userDetails);
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String email = extractEmail(token);
-        Optional<UserInfo> userInfo = userInfoRepository.findByEmail(email);
+    public boolean isRevoked(Claims claims) {
+        return tokenDenylist.isRevoked(claims.getId());
+    }
+
+    /**
+     * Revokes a token until it expires. Tokens that cannot be parsed are
+     * not usable anyway and are ignored.
+     */
+    public void revokeToken(String token) {
+        try {
+            Claims claims = parseToken(token);
+            tokenDenylist.revoke(claims.getId(), claims.getExpiration());
+        } catch (JwtException | IllegalArgumentException ex) {
+            // Nothing to revoke.
+        }
+    }
 
-        return userInfo.filter(usrInf ->
-                (usrInf.getUsername().equals(userDetails.getUsername()) && !isTokenExpired(token))).isPresent();
+    /**
+     * The principal described by the token's claims, in stateless mode and
+     * for tokens that carry them.
+     */
+    public Optional<UserDetails> principalFromClaims(Claims claims) {
+        if (!stateless)
+            return Optional.empty();
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        String username = claims.get(USERNAME_CLAIM, String.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (userId == null || username == null || roles == null)
+            return Optional.empty();
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return Optional.of(new UserDetailsImplementation(userId, username, claims.getSubject(), null, authorities));
     }
 
     public String generateToken(String email){
@@ -69,19 +147,23 @@ public class JwtService {
         return createToken(claims, email);
     }
 
+    public String generateToken(UserInfo user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(USERNAME_CLAIM, user.getUsername());
+        claims.put(ROLES_CLAIM, user.getRoles().stream().map(role -> role.getName().name()).toList());
+        return createToken(claims, user.getEmail());
+    }
+
     private String createToken(Map<String, Object> claims, String email) {
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(email)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + 1000 * 60))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(signKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(env.getProperty("jwt.base64-secret"));
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
 }
@@ -0,0 +1,85 @@
+package com.kanban.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Principals of recently authenticated users, keyed by email, so that a
+ * request with a valid token does not query the users and roles tables.
+ * Entries live for {@code security.principal-cache.ttl}, at most
+ * {@code security.principal-cache.max-entries} of them, and are evicted by
+ * {@link PrincipalCacheInvalidator} as soon as a user or a role changes.
+ * Unknown emails are never cached.
+ */
+@Component
+public class PrincipalCache {
+
+    private record Entry(UserDetailsImplementation principal, long expiresAt) {
+
+        boolean expired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    private final UserDetailsServiceImplementation userDetailsService;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public PrincipalCache(UserDetailsServiceImplementation userDetailsService, MeterRegistry meterRegistry,
+                          @Value("${security.principal-cache.ttl:PT5M}") Duration ttl,
+                          @Value("${security.principal-cache.max-entries:10000}") int maxEntries) {
+        this.userDetailsService = userDetailsService;
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries || eldest.getValue().expired(System.currentTimeMillis());
+            }
+        };
+        this.hits = meterRegistry.counter("kanban.auth.principal.cache", "result", "hit");
+        this.misses = meterRegistry.counter("kanban.auth.principal.cache", "result", "miss");
+        Gauge.builder("kanban.auth.principal.cache.size", this, PrincipalCache::size).register(meterRegistry);
+    }
+
+    public UserDetails loadUserByEmail(String email) throws UsernameNotFoundException {
+        synchronized (this) {
+            Entry entry = entries.get(email);
+            if (entry != null && !entry.expired(System.currentTimeMillis())) {
+                hits.increment();
+                return entry.principal();
+            }
+        }
+        misses.increment();
+        // Loaded outside the lock, so a slow query only holds up this email.
+        UserDetails loaded = userDetailsService.loadUserByEmail(email);
+        if (loaded instanceof UserDetailsImplementation principal && ttlMillis > 0) {
+            synchronized (this) {
+                entries.put(email, new Entry(principal, System.currentTimeMillis() + ttlMillis));
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized void evictUser(Long userId) {
+        entries.values().removeIf(entry -> entry.principal().getId().equals(userId));
+    }
+
+    public synchronized void evictAll() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,83 @@
+package com.kanban.security;
+
+import com.kanban.model.UserInfo;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Entity listener on users and roles. A changed user is evicted by id, so
+ * that an entry under a previous email goes too; a changed role can affect
+ * anyone, so it clears the cache.
+ * <p>
+ * Granting or taking away a role only touches the user_roles join table,
+ * which does not count as an update of the user. Collection events are
+ * therefore hooked into Hibernate as well, and evict the owning user.
+ * <p>
+ * These callbacks run when the session is flushed, before the transaction
+ * commits, so a request in between can still load and cache the old user.
+ * The eviction is therefore repeated after commit.
+ * <p>
+ * Hibernate builds its listeners while the repositories are still being
+ * created, hence the lazy lookup of the cache and the entity manager
+ * factory.
+ */
+@Component
+public class PrincipalCacheInvalidator implements SmartInitializingSingleton {
+
+    private final ObjectProvider<PrincipalCache> principalCache;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public PrincipalCacheInvalidator(ObjectProvider<PrincipalCache> principalCache,
+                                     ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.principalCache = principalCache;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        if (factory == null)
+            return;
+        EventListenerRegistry registry = factory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE,
+                (PostCollectionUpdateEventListener) this::collectionChanged);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE,
+                (PostCollectionRecreateEventListener) this::collectionChanged);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE,
+                (PostCollectionRemoveEventListener) this::collectionChanged);
+    }
+
+    void collectionChanged(AbstractCollectionEvent event) {
+        if (event.getAffectedOwnerOrNull() instanceof UserInfo user)
+            changed(user);
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity) {
+        PrincipalCache cache = principalCache.getIfAvailable();
+        if (cache == null)
+            return;
+        Runnable evict = entity instanceof UserInfo user
+                ? () -> cache.evictUser(user.getId())
+                : cache::evictAll;
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+    }
+}
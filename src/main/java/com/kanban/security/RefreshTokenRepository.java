@@ -1,15 +1,29 @@
 package com.kanban.security;
 
 import com.kanban.model.RefreshToken;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.Optional;
 
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    Optional<RefreshToken> findByToken(String token);
-    Optional<RefreshToken> deleteRefreshTokenByToken(String refreshToken);
+    Optional<RefreshToken> findByTokenHashAndExpiryDateAfter(String tokenHash, Instant now);
+    Optional<RefreshToken> deleteRefreshTokenByTokenHash(String tokenHash);
     Optional<RefreshToken> findByUserId(Long userId);
+
+    // One bounded batch per transaction, so a large backlog never holds
+    // long locks on the table.
+    @Transactional
+    @Modifying
+    @Query(value = "delete from refresh_token where id in (" +
+            "select id from refresh_token where expiry_date < :now limit :limit)",
+            nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("limit") int limit);
 }
\ No newline at end of file
@@ -5,64 +5,96 @@ import com.kanban.model.UserInfo;
 import com.kanban.repository.UserInfoRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.HexFormat;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Refresh tokens are stored as SHA-256 hashes under a unique index; the
+ * token itself is only known to the client. Expired tokens are deleted by
+ * a scheduled purge, PURGE_BATCH_SIZE rows per transaction.
+ */
 @Service
 public class RefreshTokenService {
+
+    static final int PURGE_BATCH_SIZE = 1000;
+
     @Autowired
     RefreshTokenRepository refreshTokenRepository;
     @Autowired
     UserInfoRepository userInfoRepository;
 
-    public RefreshToken createRefreshToken(String email) {
+    /**
+     * Issues a new refresh token for the user, replacing any previous one,
+     * and returns the token to hand to the client.
+     */
+    public String createRefreshToken(String email) {
         Optional<UserInfo> userInfo = userInfoRepository.findByEmail(email);
         if (userInfo.isEmpty()) {
             throw new RuntimeException("User not found");
         }
+        String token = UUID.randomUUID().toString();
         Optional<RefreshToken> existingToken = findByUser(userInfo.get());
         RefreshToken refreshToken;
         if (existingToken.isPresent()) {
             refreshToken = existingToken.get();
-            refreshToken.setToken(UUID.randomUUID().toString());
+            refreshToken.setTokenHash(hash(token));
             refreshToken.setExpiryDate(Instant.now().plusMillis(1000L * 60 * 60 * 24 * 7));
         } else {
             refreshToken = RefreshToken.builder()
                     .userId(userInfo.get().getId())
-                    .token(UUID.randomUUID().toString())
+                    .tokenHash(hash(token))
                     .expiryDate(Instant.now().plusMillis(1000L * 60 * 60 * 24 * 7))
                     .build();
         }
-        return refreshTokenRepository.save(refreshToken);
+        refreshTokenRepository.save(refreshToken);
+        return token;
     }
 
-    public Optional<RefreshToken> findByToken(String token){
-        return refreshTokenRepository.findByToken(token);
+    /**
+     * Looks a token up and checks its expiry in the same query.
+     */
+    public Optional<RefreshToken> findValidToken(String token) {
+        return refreshTokenRepository.findByTokenHashAndExpiryDateAfter(hash(token), Instant.now());
     }
+
     public Optional<RefreshToken> findByUser(UserInfo user) {
         return refreshTokenRepository.findByUserId(user.getId());
     }
 
     @Transactional
     public Optional<RefreshToken> deleteRefreshToken(String token) {
-        return refreshTokenRepository.deleteRefreshTokenByToken(token);
+        return refreshTokenRepository.deleteRefreshTokenByTokenHash(hash(token));
     }
 
-    public RefreshToken verifyExpiration(RefreshToken token) {
-        if (refreshTokenRepository.findByToken(token.getToken()).isPresent()) {
-            if (token.getExpiryDate().compareTo(Instant.now()) < 0) {
-                refreshTokenRepository.delete(token);
-                throw new RuntimeException(token.getToken() + " Refresh token has expired. Please make a new login..!");
-            }
-            return token;
-        } else throw new RuntimeException("Refresh token not found");
+    @Scheduled(initialDelayString = "${security.refresh-token.purge-interval:PT10M}",
+            fixedDelayString = "${security.refresh-token.purge-interval:PT10M}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(now, PURGE_BATCH_SIZE);
+        } while (deleted == PURGE_BATCH_SIZE);
     }
 
     public void deleteAll() {
         refreshTokenRepository.deleteAll();
     }
 
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
 }
\ No newline at end of file
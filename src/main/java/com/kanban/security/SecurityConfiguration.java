@@ -1,5 +1,6 @@
 package com.kanban.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -36,7 +37,8 @@ public class SecurityConfiguration {
                 exception.authenticationEntryPoint(restAuthenticationEntryPoint)
             )
             .authorizeHttpRequests(auth ->
-                auth.requestMatchers("/api/projects/**").authenticated()
+                auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                    .requestMatchers("/api/projects/**").authenticated()
                     .requestMatchers("/api/tasks/**").authenticated()
                         .requestMatchers("/api/auth/register", "/api/auth/login", "/api/auth/refreshToken").permitAll()
                         .requestMatchers("/api/auth/logout").authenticated()
@@ -0,0 +1,48 @@
+package com.kanban.security;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ids of revoked access tokens, each kept only until the token would have
+ * expired anyway. Access tokens live for a minute, so the map stays small.
+ * The list is local to this instance.
+ */
+@Component
+public class TokenDenylist {
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    public void revoke(String tokenId, Date expiration) {
+        if (tokenId == null || expiration == null || expiration.getTime() <= System.currentTimeMillis())
+            return;
+        revoked.put(tokenId, expiration.getTime());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null)
+            return false;
+        Long expiresAt = revoked.get(tokenId);
+        if (expiresAt == null)
+            return false;
+        if (expiresAt <= System.currentTimeMillis()) {
+            revoked.remove(tokenId, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.denylist-purge-interval:PT1M}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+
+    int size() {
+        return revoked.size();
+    }
+}
@@ -0,0 +1,119 @@
+package com.kanban.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Claims of tokens whose signature has already been verified, kept until
+ * the token expires. Lookups hash the token string and then compare it in
+ * full, so only the exact token that was verified is ever served from
+ * here.
+ * <p>
+ * Reads take no lock: a hit is a ConcurrentHashMap lookup plus, the first
+ * time an entry is used since the last trim, one write of its used flag.
+ * Once more than {@code security.jwt.verified-cache.max-entries} tokens
+ * are held, the inserting thread trims the cache back to nine tenths of
+ * that in one pass, clock style: expired entries go, entries used since
+ * the last trim get a second chance, the others go until enough are gone.
+ * Only one thread trims at a time and the others do not wait for it, so
+ * the size may briefly overshoot by a few entries. Zero disables the cache.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final class Entry {
+        final Claims claims;
+        final long expiresAt;
+        volatile boolean used;
+
+        Entry(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final int maxEntries;
+    private final int trimTo;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+                              @Value("${security.jwt.verified-cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.trimTo = maxEntries * 9 / 10;
+        this.hits = meterRegistry.counter("kanban.auth.token.cache", "result", "hit");
+        this.misses = meterRegistry.counter("kanban.auth.token.cache", "result", "miss");
+    }
+
+    /**
+     * Returns the cached claims of a token, or verifies it with
+     * {@code verifier} and caches the result.
+     */
+    public Claims get(String token, Function<String, Claims> verifier) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(token);
+        if (entry != null) {
+            if (entry.expiresAt > now) {
+                if (!entry.used)
+                    entry.used = true;
+                hits.increment();
+                return entry.claims;
+            }
+            entries.remove(token, entry);
+        }
+        misses.increment();
+        // Throws for expired and forged tokens, which are never cached.
+        Claims claims = verifier.apply(token);
+        if (maxEntries > 0 && claims.getExpiration() != null && claims.getExpiration().getTime() > now) {
+            entries.put(token, new Entry(claims, claims.getExpiration().getTime()));
+            if (entries.size() > maxEntries)
+                trim();
+        }
+        return claims;
+    }
+
+    private void trim() {
+        if (!trimming.compareAndSet(false, true))
+            return;
+        try {
+            long now = System.currentTimeMillis();
+            int excess = entries.size() - trimTo;
+            // The second pass only runs when too many entries were used
+            // since the last trim; by then none of them is flagged any more.
+            for (int pass = 0; pass < 2 && excess > 0; pass++) {
+                for (Iterator<Entry> it = entries.values().iterator(); it.hasNext() && excess > 0; ) {
+                    Entry entry = it.next();
+                    if (entry.expiresAt <= now || !entry.used) {
+                        it.remove();
+                        excess--;
+                    } else {
+                        entry.used = false;
+                    }
+                }
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.verified-cache.purge-interval:PT1M}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
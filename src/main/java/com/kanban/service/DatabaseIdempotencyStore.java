@@ -0,0 +1,75 @@
+package com.kanban.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kanban.model.IdempotencyRecord;
+import com.kanban.repository.IdempotencyRecordRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Responses kept as JSON in the idempotency_keys table, so that retries are
+ * still recognized after a restart or by another instance. Expired rows are
+ * purged every {@code idempotency.purge-interval}.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "database")
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    public DatabaseIdempotencyStore(IdempotencyRecordRepository repository, ObjectMapper objectMapper,
+                                    @Value("${idempotency.ttl:PT24H}") Duration ttl) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public <T> Optional<StoredResponse<T>> find(String key, Class<T> type) {
+        Instant cutoff = Instant.now().minus(ttl);
+        return repository.findById(key)
+                .filter(record -> record.getCreatedAt().isAfter(cutoff))
+                .map(record -> {
+                    try {
+                        return new StoredResponse<>(record.getRequestHash(),
+                                objectMapper.readValue(record.getResponse(), type));
+                    } catch (JsonProcessingException ex) {
+                        throw new IllegalStateException("Stored response for " + key + " is not readable", ex);
+                    }
+                });
+    }
+
+    @Override
+    public void save(String key, String requestHash, Object response) {
+        try {
+            repository.save(IdempotencyRecord.builder()
+                    .key(key)
+                    .requestHash(requestHash)
+                    .response(objectMapper.writeValueAsString(response))
+                    .createdAt(Instant.now())
+                    .build());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Response for " + key + " is not serializable", ex);
+        } catch (DataIntegrityViolationException ex) {
+            // Another instance stored the same key first; either response
+            // is the one to replay.
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpired() {
+        repository.deleteCreatedBefore(Instant.now().minus(ttl));
+    }
+}
@@ -0,0 +1,96 @@
+package com.kanban.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Replays the response of a request retried with the same Idempotency-Key
+ * instead of running it again. Keys are scoped by endpoint and user, and
+ * bound to the request body: reusing a key with a different body gets 422
+ * instead of the response to the first one.
+ * <p>
+ * Only successful responses are stored, so a request that failed can be
+ * retried with the same key. A retry that arrives while the first request
+ * is still running on this instance gets 409.
+ */
+@Service
+@AllArgsConstructor
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public record Outcome<T>(T response, boolean replayed) {}
+
+    /**
+     * Runs {@code action}, or replays the response stored for the same key.
+     * {@code request} is the request body; it is hashed before the action
+     * runs, since saving an entity changes it.
+     */
+    public <T> Outcome<T> execute(String scope, Principal principal, String key, Object request,
+                                  Class<T> type, Supplier<T> action) {
+        if (key == null)
+            return new Outcome<>(action.get(), false);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+
+        String scopedKey = scope + ":" + (principal == null ? "" : principal.getName()) + ":" + key;
+        String requestHash = hash(request);
+        Optional<IdempotencyStore.StoredResponse<T>> stored = idempotencyStore.find(scopedKey, type);
+        if (stored.isPresent())
+            return replay(stored.get(), requestHash);
+        if (!inFlight.add(scopedKey))
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "A request with this " + HEADER + " is still in progress");
+        try {
+            // The first request may have finished between the lookup above
+            // and claiming the key.
+            stored = idempotencyStore.find(scopedKey, type);
+            if (stored.isPresent())
+                return replay(stored.get(), requestHash);
+            T response = action.get();
+            idempotencyStore.save(scopedKey, requestHash, response);
+            return new Outcome<>(response, false);
+        } finally {
+            inFlight.remove(scopedKey);
+        }
+    }
+
+    private <T> Outcome<T> replay(IdempotencyStore.StoredResponse<T> stored, String requestHash) {
+        if (!requestHash.equals(stored.requestHash()))
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used with a different request body");
+        return new Outcome<>(stored.response(), true);
+    }
+
+    // Hashes the bound request rather than the raw bytes, so whitespace and
+    // member order do not make a body different.
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Request body is not serializable", ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
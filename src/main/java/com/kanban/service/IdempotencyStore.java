@@ -0,0 +1,19 @@
+package com.kanban.service;
+
+import java.util.Optional;
+
+/**
+ * Keeps the responses of requests sent with an Idempotency-Key. The
+ * in-memory store is used unless {@code idempotency.store=database}.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * A stored response and the hash of the request body that produced it.
+     */
+    record StoredResponse<T>(String requestHash, T response) {}
+
+    <T> Optional<StoredResponse<T>> find(String key, Class<T> type);
+
+    void save(String key, String requestHash, Object response);
+}
@@ -0,0 +1,60 @@
+package com.kanban.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Least recently used responses, up to {@code idempotency.max-entries}, each
+ * kept for {@code idempotency.ttl}. Entries are lost on restart and are not
+ * shared between instances.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private record Entry(String requestHash, Object response, long expiresAt) {
+
+        boolean expired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+
+    public InMemoryIdempotencyStore(@Value("${idempotency.ttl:PT24H}") Duration ttl,
+                                    @Value("${idempotency.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries || eldest.getValue().expired(System.currentTimeMillis());
+            }
+        };
+    }
+
+    @Override
+    public synchronized <T> Optional<StoredResponse<T>> find(String key, Class<T> type) {
+        Entry entry = entries.get(key);
+        if (entry == null)
+            return Optional.empty();
+        if (entry.expired(System.currentTimeMillis())) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        if (!type.isInstance(entry.response()))
+            return Optional.empty();
+        return Optional.of(new StoredResponse<>(entry.requestHash(), type.cast(entry.response())));
+    }
+
+    @Override
+    public synchronized void save(String key, String requestHash, Object response) {
+        entries.put(key, new Entry(requestHash, response, System.currentTimeMillis() + ttlMillis));
+    }
+}
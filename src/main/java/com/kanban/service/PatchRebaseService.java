@@ -0,0 +1,159 @@
+package com.kanban.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Opt-in rebasing of merge patches. A patch based on an older version, or
+ * one that lost the race to commit, is re-applied onto the latest version
+ * as long as none of the commits since its base touched any of its members.
+ * <p>
+ * Which members each commit touched is kept in memory for the most recently
+ * patched entities only. Whenever part of that history is unknown (other
+ * write paths, evicted entries, a restart) the patch is rejected with 409
+ * as before.
+ */
+@Service
+public class PatchRebaseService {
+
+    static final int MAX_ATTEMPTS = 3;
+    static final int MAX_ENTITIES = 10_000;
+    static final int MAX_COMMITS_PER_ENTITY = 16;
+
+    private record EntityKey(Class<?> type, Long id) {}
+
+    private record Commit(long fromVersion, long toVersion, Set<String> members) {}
+
+    private final MeterRegistry meterRegistry;
+
+    // Set while a patch that lost a race is retried. withRetries has counted
+    // that conflict already, so the stale version the retry finds is not
+    // counted again.
+    private final ThreadLocal<Boolean> retrying = ThreadLocal.withInitial(() -> false);
+
+    private final Map<EntityKey, Deque<Commit>> history = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<EntityKey, Deque<Commit>> eldest) {
+            return size() > MAX_ENTITIES;
+        }
+    };
+
+    public PatchRebaseService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs a patch attempt, and runs it again in a fresh transaction when it
+     * loses the race to a concurrent commit.
+     */
+    public <T> T withRetries(Class<?> type, Supplier<T> attempt) {
+        try {
+            for (int i = 1; ; i++) {
+                try {
+                    return attempt.get();
+                } catch (ObjectOptimisticLockingFailureException ex) {
+                    conflict(type);
+                    if (i == MAX_ATTEMPTS) {
+                        rebase(type, "exhausted");
+                        throw new ResponseStatusException(HttpStatus.CONFLICT,
+                                type.getSimpleName() + " was updated concurrently");
+                    }
+                    retrying.set(true);
+                }
+            }
+        } finally {
+            retrying.remove();
+        }
+    }
+
+    /**
+     * Whether a patch carrying an older version than {@code currentVersion}
+     * may still be applied, because no commit since that version touched any
+     * of its members.
+     */
+    public boolean canRebase(Class<?> type, Long id, JsonNode patch, Long currentVersion) {
+        JsonNode version = patch.get("version");
+        if (version == null || !version.canConvertToLong() || currentVersion == null
+                || version.asLong() >= currentVersion)
+            return false;
+        if (!retrying.get())
+            conflict(type);
+        Set<String> changed = changedSince(new EntityKey(type, id), version.asLong(), currentVersion);
+        boolean disjoint = changed != null && members(patch).stream().noneMatch(changed::contains);
+        rebase(type, disjoint ? "applied" : "rejected");
+        return disjoint;
+    }
+
+    /**
+     * Remembers the members a patch touched, once its transaction has
+     * committed and the final version is known.
+     */
+    public void recordAfterCommit(Class<?> type, Long id, Long baseVersion,
+                                  Supplier<Long> committedVersion, JsonNode patch) {
+        Set<String> members = members(patch);
+        Runnable record = () -> record(new EntityKey(type, id), baseVersion, committedVersion.get(), members);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record.run();
+            }
+        });
+    }
+
+    private synchronized void record(EntityKey key, Long fromVersion, Long toVersion, Set<String> members) {
+        if (fromVersion == null || toVersion == null || toVersion <= fromVersion)
+            return;
+        Deque<Commit> commits = history.computeIfAbsent(key, k -> new ArrayDeque<>());
+        commits.addLast(new Commit(fromVersion, toVersion, members));
+        if (commits.size() > MAX_COMMITS_PER_ENTITY)
+            commits.removeFirst();
+    }
+
+    // Members touched between the two versions, or null when some commit in
+    // between is unknown.
+    private synchronized Set<String> changedSince(EntityKey key, long fromVersion, long toVersion) {
+        Deque<Commit> commits = history.get(key);
+        if (commits == null)
+            return null;
+        Map<Long, Commit> byBase = new HashMap<>();
+        commits.forEach(commit -> byBase.put(commit.fromVersion(), commit));
+        Set<String> changed = new HashSet<>();
+        long version = fromVersion;
+        while (version < toVersion) {
+            Commit commit = byBase.get(version);
+            if (commit == null)
+                return null;
+            changed.addAll(commit.members());
+            version = commit.toVersion();
+        }
+        return version == toVersion ? changed : null;
+    }
+
+    private Set<String> members(JsonNode patch) {
+        Set<String> members = new HashSet<>();
+        patch.fieldNames().forEachRemaining(members::add);
+        members.remove("version");
+        return members;
+    }
+
+    private void conflict(Class<?> type) {
+        meterRegistry.counter("kanban.patch.conflicts", "entity", type.getSimpleName()).increment();
+    }
+
+    private void rebase(Class<?> type, String outcome) {
+        meterRegistry.counter("kanban.patch.rebases", "entity", type.getSimpleName(), "outcome", outcome).increment();
+    }
+}
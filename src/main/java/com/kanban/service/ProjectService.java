@@ -1,14 +1,21 @@
 package com.kanban.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.kanban.mapper.ProjectMapper;
+import com.kanban.mapper.TaskMapper;
 import com.kanban.model.Project;
-import com.kanban.model.Task;
-import com.kanban.model.UserInfo;
+import com.kanban.model.dto.BoardColumnDTO;
+import com.kanban.model.dto.BoardDTO;
 import com.kanban.model.dto.ProjectDTO;
+import com.kanban.model.enums.TaskStatus;
+import com.kanban.model.projection.BoardTaskRow;
+import com.kanban.model.projection.ProjectVersionStamp;
 import com.kanban.repository.ProjectRepository;
 import com.kanban.repository.TaskRepository;
 import com.kanban.repository.UserInfoRepository;
-import com.kanban.util.BeanUtilsWrapper;
+import com.kanban.util.MergePatchApplier;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -28,8 +35,13 @@ public class ProjectService {
     private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
     private final UserInfoRepository userInfoRepository;
-    private final BeanUtilsWrapper beanUtilsWrapper;
+    private final MergePatchApplier mergePatchApplier;
     private final ProjectMapper projectMapper;
+    private final TaskMapper taskMapper;
+    private final ProjectStatsService projectStatsService;
+    private final EntityManager entityManager;
+    private final PatchRebaseService patchRebaseService;
+    private final TaskRankService taskRankService;
 
     public Page<ProjectDTO> getProjects(Pageable pageable) {
         return projectRepository.findAll(pageable).map(projectMapper::projectToDTO);
@@ -39,13 +51,46 @@ public class ProjectService {
         return projectRepository.findById(id);
     }
 
+    public Optional<ProjectVersionStamp> getProjectVersionStamp(Long id) {
+        return projectRepository.findVersionStampById(id);
+    }
+
+    public BoardDTO getBoard(Long id, int columnLimit) {
+        if (columnLimit < 1)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Column limit must be positive");
+        List<BoardTaskRow> rows = projectRepository.findBoardRows(id, columnLimit);
+        if (rows.isEmpty() && !projectRepository.existsById(id))
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found");
+
+        Map<String, List<BoardTaskRow>> rowsByStatus = rows.stream()
+                .collect(Collectors.groupingBy(BoardTaskRow::getStatus));
+        List<BoardColumnDTO> columns = Arrays.stream(TaskStatus.values())
+                .map(status -> {
+                    List<BoardTaskRow> columnRows = rowsByStatus.getOrDefault(status.name(), List.of());
+                    return BoardColumnDTO.builder()
+                            .status(status.name())
+                            .count(columnRows.isEmpty() ? 0 : columnRows.getFirst().getColumnCount())
+                            .tasks(columnRows.stream().map(taskMapper::boardRowToDTO).toList())
+                            .build();
+                })
+                .toList();
+        return BoardDTO.builder()
+                .projectId(id)
+                .columns(columns)
+                .build();
+    }
+
+    @Transactional
     public ProjectDTO saveNewProject(Project project) {
         if (project.getVersion() == null)
             project.setVersion(1L);
         Project savedProject = projectRepository.save(project);
+        projectRepository.flush();
+        projectStatsService.rebuildProject(savedProject.getId());
         return projectMapper.projectToDTO(savedProject);
     }
 
+    @Transactional
     public ProjectDTO updateProject(Long id, Project newProject) {
         if (!projectRepository.existsById(id))
             throw new ResponseStatusException(HttpStatus.NOT_FOUND);
@@ -53,6 +98,8 @@ public class ProjectService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
         try {
             Project updatedProject = projectRepository.save(newProject);
+            projectRepository.flush();
+            projectStatsService.rebuildProject(id);
             return projectMapper.projectToDTO(updatedProject);
         } catch (ObjectOptimisticLockingFailureException ex) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Project was updated concurrently");
@@ -60,48 +107,91 @@ public class ProjectService {
     }
 
     @Transactional
-    public ProjectDTO savePatchedProject(Long id, Project patchedProject) {
-        if (patchedProject.getVersion() == null)
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    public ProjectDTO savePatchedProject(Long id, JsonNode patch) {
+        return savePatchedProject(id, patch, false);
+    }
+
+    /**
+     * See {@link TaskService#savePatchedTask(Long, JsonNode, boolean)}.
+     */
+    @Transactional
+    public ProjectDTO savePatchedProject(Long id, JsonNode patch, boolean rebase) {
         Project existingProject = projectRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
+        Long baseVersion = existingProject.getVersion();
+        if (!rebase || !patchRebaseService.canRebase(Project.class, id, patch, baseVersion))
+            mergePatchApplier.checkVersion(patch, baseVersion, "Project was updated concurrently");
+        mergePatchApplier.apply(patch, existingProject);
 
-        beanUtilsWrapper.copyProperties(patchedProject, existingProject,
-                "id", "version", "tasks", "participants");
-
-        if (!patchedProject.getTasks().isEmpty()) {
-            Set<Long> taskIds = patchedProject.getTasks().stream()
-                    .map(Task::getId).collect(Collectors.toSet());
-            Set<Task> newTasks = new HashSet<>();
-            taskIds.forEach(taskId -> {
-                Task task = taskRepository.findById(taskId)
-                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
-                newTasks.add(task);
-            });
-            existingProject.getTasks().clear();
-            existingProject.getTasks().addAll(newTasks);
+        // Join rows are diffed by id: only the rows that differ are deleted or
+        // inserted, and neither collection is ever loaded.
+        boolean linksChanged = false;
+        List<Long> taskIds = projectRepository.findTaskIds(id);
+        List<Long> requestedTaskIds = mergePatchApplier.referencedIds(patch, "tasks");
+        if (requestedTaskIds != null && !requestedTaskIds.isEmpty()) {
+            Set<Long> requested = new LinkedHashSet<>(requestedTaskIds);
+            requireExisting(requested, taskRepository.findExistingIds(requested), "Tasks not found: ");
+            Set<Long> current = new HashSet<>(taskIds);
+            List<Long> removed = taskIds.stream().filter(taskId -> !requested.contains(taskId)).toList();
+            List<Long> added = requested.stream().filter(taskId -> !current.contains(taskId)).toList();
+            if (!removed.isEmpty()) {
+                projectStatsService.tasksRemoved(removed);
+                projectRepository.unlinkTasks(id, removed);
+            }
+            if (!added.isEmpty()) {
+                taskRankService.rankOnTop(id, added);
+                projectRepository.linkTasks(id, added.toArray(Long[]::new));
+                projectStatsService.tasksAdded(added);
+            }
+            linksChanged = !removed.isEmpty() || !added.isEmpty();
+            taskIds = List.copyOf(requested);
         }
 
-        if (patchedProject.getParticipants() != null) {
-            existingProject.getParticipants().clear();
-            patchedProject.getParticipants().forEach(userInfo -> {
-                UserInfo currentUser = userInfoRepository.findById(userInfo.getId())
-                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-                existingProject.getParticipants().add(currentUser);
-            });
+        List<Long> participantIds = projectRepository.findParticipantIds(id);
+        List<Long> requestedParticipantIds = mergePatchApplier.referencedIds(patch, "participants");
+        if (requestedParticipantIds != null) {
+            Set<Long> requested = new LinkedHashSet<>(requestedParticipantIds);
+            if (!requested.isEmpty())
+                requireExisting(requested, userInfoRepository.findExistingIds(requested), "Users not found: ");
+            Set<Long> current = new HashSet<>(participantIds);
+            List<Long> removed = participantIds.stream().filter(userId -> !requested.contains(userId)).toList();
+            List<Long> added = requested.stream().filter(userId -> !current.contains(userId)).toList();
+            if (!removed.isEmpty())
+                projectRepository.unlinkParticipants(id, removed);
+            if (!added.isEmpty())
+                projectRepository.linkParticipants(id, added.toArray(Long[]::new));
+            linksChanged = linksChanged || !removed.isEmpty() || !added.isEmpty();
+            participantIds = List.copyOf(requested);
         }
 
         try {
             Project savedProject = projectRepository.save(existingProject);
-            return projectMapper.projectToDTO(savedProject);
+            // The join rows bypass Hibernate, so bump the version by hand.
+            if (linksChanged)
+                entityManager.lock(savedProject, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+            projectRepository.flush();
+            patchRebaseService.recordAfterCommit(Project.class, id, baseVersion, savedProject::getVersion, patch);
+            return projectMapper.projectToDTO(savedProject, participantIds, taskIds);
         } catch (ObjectOptimisticLockingFailureException ex) {
+            if (rebase)
+                throw ex;
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Project was updated concurrently");
         }
     }
 
+    private void requireExisting(Set<Long> requested, Collection<Long> existing, String reason) {
+        if (existing.size() == requested.size())
+            return;
+        Set<Long> missing = new LinkedHashSet<>(requested);
+        missing.removeAll(existing);
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND, reason + missing);
+    }
+
+    @Transactional
     public void deleteProjectById(Long id) {
         if (!projectRepository.existsById(id))
             throw new ResponseStatusException(HttpStatus.NOT_FOUND);
         projectRepository.deleteById(id);
+        projectStatsService.removeProject(id);
     }
 }
@@ -0,0 +1,149 @@
+package com.kanban.service;
+
+import com.kanban.model.ProjectTaskCounter;
+import com.kanban.model.dto.ProjectStatsDTO;
+import com.kanban.model.enums.TaskPriority;
+import com.kanban.model.enums.TaskStatus;
+import com.kanban.repository.ProjectRepository;
+import com.kanban.repository.ProjectTaskCounterRepository;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps one counter row per project, status and priority. Task edits apply
+ * +1/-1 deltas in the caller's transaction; membership changes recount the
+ * affected project only.
+ */
+@Service
+@AllArgsConstructor
+public class ProjectStatsService {
+
+    private final ProjectTaskCounterRepository counterRepository;
+    private final ProjectRepository projectRepository;
+
+    public ProjectStatsDTO getStats(Long projectId) {
+        List<ProjectTaskCounter> counters = counterRepository.findByIdProjectId(projectId);
+        if (counters.isEmpty() && !projectRepository.existsById(projectId))
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found");
+
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        Map<String, Long> byPriority = new LinkedHashMap<>();
+        Map<String, Map<String, Long>> byStatusAndPriority = new LinkedHashMap<>();
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status.name(), 0L);
+            Map<String, Long> row = new LinkedHashMap<>();
+            for (TaskPriority priority : TaskPriority.values())
+                row.put(priority.name(), 0L);
+            byStatusAndPriority.put(status.name(), row);
+        }
+        for (TaskPriority priority : TaskPriority.values())
+            byPriority.put(priority.name(), 0L);
+
+        long total = 0;
+        for (ProjectTaskCounter counter : counters) {
+            String status = counter.getId().getStatus().name();
+            String priority = counter.getId().getPriority().name();
+            long count = counter.getTaskCount();
+            total += count;
+            byStatus.merge(status, count, Long::sum);
+            byPriority.merge(priority, count, Long::sum);
+            byStatusAndPriority.get(status).merge(priority, count, Long::sum);
+        }
+        return ProjectStatsDTO.builder()
+                .projectId(projectId)
+                .total(total)
+                .byStatus(byStatus)
+                .byPriority(byPriority)
+                .byStatusAndPriority(byStatusAndPriority)
+                .build();
+    }
+
+    @Transactional
+    public void taskChanged(Long taskId,
+                            TaskStatus oldStatus, TaskPriority oldPriority,
+                            TaskStatus newStatus, TaskPriority newPriority) {
+        if (oldStatus == newStatus && oldPriority == newPriority)
+            return;
+        Optional<Long> projectId = projectRepository.findProjectIdByTaskId(taskId);
+        if (projectId.isEmpty())
+            return;
+        // Touch the two rows in a fixed order so opposite moves cannot deadlock.
+        if (compare(oldStatus, oldPriority, newStatus, newPriority) < 0) {
+            add(projectId.get(), oldStatus, oldPriority, -1);
+            add(projectId.get(), newStatus, newPriority, 1);
+        } else {
+            add(projectId.get(), newStatus, newPriority, 1);
+            add(projectId.get(), oldStatus, oldPriority, -1);
+        }
+    }
+
+    @Transactional
+    public void taskRemoved(Long projectId, TaskStatus status, TaskPriority priority) {
+        add(projectId, status, priority, -1);
+    }
+
+    @Transactional
+    public void tasksAdded(Long projectId, TaskStatus status, TaskPriority priority, long count) {
+        add(projectId, status, priority, count);
+    }
+
+    @Transactional
+    public void tasksAdded(Collection<Long> taskIds) {
+        counterRepository.addCountsForTasks(taskIds);
+    }
+
+    @Transactional
+    public void tasksRemoved(Collection<Long> taskIds) {
+        counterRepository.subtractCountsForTasks(taskIds);
+    }
+
+    @Transactional
+    public void tasksChanged(Collection<Long> taskIds) {
+        projectRepository.findProjectIdsByTaskIds(taskIds).forEach(this::rebuildProject);
+    }
+
+    @Transactional
+    public void rebuildProject(Long projectId) {
+        counterRepository.deleteByProjectId(projectId);
+        counterRepository.insertCountsForProject(projectId);
+    }
+
+    @Transactional
+    public void removeProject(Long projectId) {
+        counterRepository.deleteByProjectId(projectId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildAll() {
+        counterRepository.deleteAllCounts();
+        counterRepository.insertAllCounts();
+    }
+
+    private void add(Long projectId, TaskStatus status, TaskPriority priority, long delta) {
+        if (status == null || priority == null)
+            return;
+        counterRepository.addToCount(projectId, status.name(), priority.name(), delta);
+    }
+
+    private int compare(TaskStatus leftStatus, TaskPriority leftPriority,
+                        TaskStatus rightStatus, TaskPriority rightPriority) {
+        int byStatus = Integer.compare(ordinal(leftStatus), ordinal(rightStatus));
+        return byStatus != 0 ? byStatus : Integer.compare(ordinal(leftPriority), ordinal(rightPriority));
+    }
+
+    private int ordinal(Enum<?> value) {
+        return value == null ? -1 : value.ordinal();
+    }
+}
@@ -0,0 +1,114 @@
+package com.kanban.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.kanban.mapper.TaskMapper;
+import com.kanban.model.Task;
+import com.kanban.model.dto.TaskDTO;
+import com.kanban.model.enums.TaskExportFormat;
+import com.kanban.model.projection.TaskAssigneeId;
+import com.kanban.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@AllArgsConstructor
+public class TaskExportService {
+
+    private static final String CSV_HEADER = "id,title,description,status,priority,dueAt,assigneeIds";
+
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public TaskExportFormat parseFormat(String format) {
+        try {
+            return TaskExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unsupported export format, allowed values: " + Arrays.toString(TaskExportFormat.values()));
+        }
+    }
+
+    // Walks every task once through a database cursor. Only one chunk of
+    // entities is attached at a time, so memory stays flat regardless of the
+    // table size.
+    @Transactional(readOnly = true)
+    public void export(TaskExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        ObjectWriter jsonWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (format == TaskExportFormat.CSV)
+            writer.write(CSV_HEADER + "\n");
+
+        try (Stream<Task> tasks = taskRepository.streamAllForExport()) {
+            Iterator<Task> iterator = tasks.iterator();
+            List<Task> chunk = new ArrayList<>(TaskRepository.EXPORT_FETCH_SIZE);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == TaskRepository.EXPORT_FETCH_SIZE || !iterator.hasNext()) {
+                    writeChunk(chunk, format, writer, jsonWriter);
+                    chunk.clear();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeChunk(List<Task> chunk, TaskExportFormat format,
+                            Writer writer, ObjectWriter jsonWriter) throws IOException {
+        List<Long> taskIds = chunk.stream().map(Task::getId).toList();
+        Map<Long, List<Long>> assigneeIds = taskRepository.findAssigneeIds(taskIds).stream()
+                .collect(Collectors.groupingBy(TaskAssigneeId::getTaskId,
+                        Collectors.mapping(TaskAssigneeId::getUserId, Collectors.toList())));
+
+        for (Task task : chunk) {
+            TaskDTO dto = taskMapper.taskToDTO(task, assigneeIds.getOrDefault(task.getId(), List.of()));
+            if (format == TaskExportFormat.CSV) {
+                writeCsvRow(dto, writer);
+            } else {
+                jsonWriter.writeValue(writer, dto);
+                writer.write('\n');
+            }
+            entityManager.detach(task);
+        }
+        writer.flush();
+    }
+
+    private void writeCsvRow(TaskDTO dto, Writer writer) throws IOException {
+        writer.write(String.valueOf(dto.getId()));
+        writer.write(',');
+        writer.write(csvField(dto.getTitle()));
+        writer.write(',');
+        writer.write(csvField(dto.getDescription()));
+        writer.write(',');
+        writer.write(csvField(dto.getStatus()));
+        writer.write(',');
+        writer.write(csvField(dto.getPriority()));
+        writer.write(',');
+        writer.write(dto.getDueAt() != null ? dto.getDueAt().toString() : "");
+        writer.write(',');
+        writer.write(dto.getAssigneeIds().stream().map(String::valueOf).collect(Collectors.joining(" ")));
+        writer.write('\n');
+    }
+
+    private String csvField(String value) {
+        if (value == null)
+            return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+            return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,164 @@
+package com.kanban.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.kanban.model.Task;
+import com.kanban.model.dto.TaskImportResult;
+import com.kanban.model.enums.TaskPriority;
+import com.kanban.model.enums.TaskStatus;
+import com.kanban.model.payload.TaskImportRecord;
+import com.kanban.repository.ProjectRepository;
+import com.kanban.repository.UserInfoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Imports NDJSON task records in one transaction. Records are validated one
+ * by one; valid ones are persisted in chunks, so Hibernate can send the task
+ * inserts as JDBC batches and the persistence context is cleared after every
+ * chunk. The project_tasks and task_assignees rows of a chunk are written
+ * with JDBC batches as well, which spares loading the linked projects and
+ * users. Invalid records are skipped and reported by line number.
+ */
+@Service
+@AllArgsConstructor
+public class TaskImportService {
+
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final UserInfoRepository userInfoRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectStatsService projectStatsService;
+    private final TaskSearchIndex taskSearchIndex;
+
+    private record NumberedRecord(long line, TaskImportRecord record) {}
+
+    private record CounterKey(Long projectId, TaskStatus status, TaskPriority priority) {}
+
+    @Transactional
+    public TaskImportResult importTasks(InputStream in) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(TaskImportRecord.class);
+        BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        TaskImportResult result = new TaskImportResult();
+        Map<CounterKey, Long> projectCounts = new HashMap<>();
+        List<NumberedRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        String line;
+        long lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank())
+                continue;
+            TaskImportRecord record;
+            try {
+                record = reader.readValue(line);
+            } catch (JsonProcessingException ex) {
+                reject(result, lineNumber, "Malformed record: " + ex.getOriginalMessage());
+                continue;
+            }
+            Set<ConstraintViolation<TaskImportRecord>> violations = validator.validate(record);
+            if (!violations.isEmpty()) {
+                ConstraintViolation<TaskImportRecord> violation = violations.iterator().next();
+                reject(result, lineNumber, violation.getPropertyPath() + " " + violation.getMessage());
+                continue;
+            }
+            chunk.add(new NumberedRecord(lineNumber, record));
+            if (chunk.size() == CHUNK_SIZE) {
+                writeChunk(chunk, result, projectCounts);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty())
+            writeChunk(chunk, result, projectCounts);
+
+        projectCounts.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<CounterKey, Long> entry) -> entry.getKey().projectId())
+                        .thenComparing(entry -> entry.getKey().status())
+                        .thenComparing(entry -> entry.getKey().priority()))
+                .forEach(entry -> projectStatsService.tasksAdded(entry.getKey().projectId(),
+                        entry.getKey().status(), entry.getKey().priority(), entry.getValue()));
+        return result;
+    }
+
+    private void writeChunk(List<NumberedRecord> chunk, TaskImportResult result,
+                            Map<CounterKey, Long> projectCounts) {
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> projectIds = new HashSet<>();
+        for (NumberedRecord numbered : chunk) {
+            if (numbered.record().getAssigneeIds() != null)
+                userIds.addAll(numbered.record().getAssigneeIds());
+            if (numbered.record().getProjectId() != null)
+                projectIds.add(numbered.record().getProjectId());
+        }
+        Set<Long> knownUsers = userIds.isEmpty() ? Set.of() : new HashSet<>(userInfoRepository.findExistingIds(userIds));
+        Set<Long> knownProjects = projectIds.isEmpty() ? Set.of() : new HashSet<>(projectRepository.findExistingIds(projectIds));
+
+        List<Task> tasks = new ArrayList<>(chunk.size());
+        List<Object[]> projectLinks = new ArrayList<>();
+        List<Object[]> assigneeLinks = new ArrayList<>();
+        for (NumberedRecord numbered : chunk) {
+            TaskImportRecord record = numbered.record();
+            List<Long> assigneeIds = record.getAssigneeIds() != null ? record.getAssigneeIds() : List.of();
+            Optional<Long> unknownUser = assigneeIds.stream().filter(id -> !knownUsers.contains(id)).findFirst();
+            if (unknownUser.isPresent()) {
+                reject(result, numbered.line(), "Unknown assignee id " + unknownUser.get());
+                continue;
+            }
+            if (record.getProjectId() != null && !knownProjects.contains(record.getProjectId())) {
+                reject(result, numbered.line(), "Unknown project id " + record.getProjectId());
+                continue;
+            }
+
+            Task task = Task.builder()
+                    .version(1L)
+                    .title(record.getTitle())
+                    .description(record.getDescription())
+                    .status(record.getStatus())
+                    .priority(record.getPriority())
+                    .dueAt(record.getDueAt())
+                    .build();
+            entityManager.persist(task);
+            tasks.add(task);
+            for (Long assigneeId : new LinkedHashSet<>(assigneeIds))
+                assigneeLinks.add(new Object[]{task.getId(), assigneeId});
+            if (record.getProjectId() != null) {
+                projectLinks.add(new Object[]{record.getProjectId(), task.getId()});
+                projectCounts.merge(new CounterKey(record.getProjectId(), task.getStatus(), task.getPriority()),
+                        1L, Long::sum);
+            }
+        }
+
+        entityManager.flush();
+        if (!projectLinks.isEmpty())
+            jdbcTemplate.batchUpdate("insert into project_tasks (project_id, task_id) values (?, ?)", projectLinks);
+        if (!assigneeLinks.isEmpty())
+            jdbcTemplate.batchUpdate("insert into task_assignees (task_id, user_id) values (?, ?)", assigneeLinks);
+        taskSearchIndex.indexAll(tasks);
+        entityManager.clear();
+        result.setImported(result.getImported() + tasks.size());
+    }
+
+    private void reject(TaskImportResult result, long line, String message) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS)
+            result.getErrors().add(new TaskImportResult.LineError(line, message));
+    }
+}
@@ -0,0 +1,216 @@
+package com.kanban.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.kanban.model.dto.TaskDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.*;
+
+/**
+ * Optional write coalescing in front of
+ * {@link TaskService#savePatchedTask(Long, JsonNode)}. Merge patches for the
+ * same task that arrive within {@code tasks.patch.coalesce-window} of the
+ * first one are merged, in arrival order, and written as one transaction.
+ * Every caller gets the same result, carrying the committed version, and
+ * only the first one is told to broadcast it.
+ * <p>
+ * Patches only share a write when they carry the same version, or none at
+ * all. A patch with another version closes the pending batch, which is then
+ * written right away; writes for a task always run in arrival order. If the
+ * merged patch is rejected with anything but a conflict, the patches are
+ * written one by one instead, so that each caller gets its own answer. Once
+ * one of them is written, the rest go on top of it without the version
+ * check, as they would have in the merged write, and only the last write
+ * is broadcast.
+ * <p>
+ * There is no thread pool: the caller that opens a batch waits for the
+ * window to close, or for a patch with another version to close it early,
+ * and then writes it on its own request thread. The others wait for its
+ * result. So a batch that has to wait for the previous write of its task
+ * only holds the thread of a request that was waiting anyway, and there are
+ * never more concurrent writes than requests.
+ * <p>
+ * Disabled when the window is zero, which is the default.
+ */
+@Service
+public class TaskPatchCoalescer {
+
+    public record Result(TaskDTO task, boolean broadcast) {}
+
+    // lead is set for the caller that opened the batch, and writes it.
+    record Submission(CompletableFuture<Result> result, Runnable lead) {}
+
+    private record Pending(JsonNode patch, CompletableFuture<Result> result) {}
+
+    private static final class Batch {
+        private final Long version;
+        private final long openedAt = System.nanoTime();
+        private final List<Pending> pending = new ArrayList<>();
+        private final CompletableFuture<Void> previous;
+        private final CompletableFuture<Void> closed = new CompletableFuture<>();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Batch(Long version, CompletableFuture<Void> previous) {
+            this.version = version;
+            this.previous = previous;
+        }
+    }
+
+    private final TaskService taskService;
+    private final MeterRegistry meterRegistry;
+    private final Duration window;
+    private final Map<Long, Batch> batches = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<Void>> lastWrites = new ConcurrentHashMap<>();
+
+    public TaskPatchCoalescer(TaskService taskService, MeterRegistry meterRegistry,
+                              @Value("${tasks.patch.coalesce-window:PT0S}") Duration window) {
+        this.taskService = taskService;
+        this.meterRegistry = meterRegistry;
+        this.window = window;
+    }
+
+    public boolean isEnabled() {
+        return !window.isZero();
+    }
+
+    /**
+     * Queues a patch and waits for the write it ends up in, which this
+     * thread runs itself if the patch opened a batch.
+     */
+    public Result savePatchedTask(Long id, JsonNode patch) {
+        Submission submission = submit(id, patch);
+        if (submission.lead() != null)
+            submission.lead().run();
+        try {
+            return submission.result().join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw ex;
+        }
+    }
+
+    Submission submit(Long id, JsonNode patch) {
+        if (patch == null || !patch.isObject())
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Merge patch must be a JSON object");
+        JsonNode versionNode = patch.get("version");
+        if (versionNode != null && !versionNode.canConvertToLong())
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "version must be a number");
+        Long version = versionNode == null ? null : versionNode.asLong();
+
+        Pending pending = new Pending(patch, new CompletableFuture<>());
+        Batch[] opened = new Batch[1];
+        batches.compute(id, (key, batch) -> {
+            if (batch != null && Objects.equals(batch.version, version)) {
+                batch.pending.add(pending);
+                return batch;
+            }
+            if (batch != null)
+                batch.closed.complete(null);
+            opened[0] = new Batch(version, lastWrites.get(id));
+            lastWrites.put(id, opened[0].done);
+            opened[0].pending.add(pending);
+            return opened[0];
+        });
+        Batch batch = opened[0];
+        return new Submission(pending.result(), batch == null ? null : () -> lead(id, batch));
+    }
+
+    private void lead(Long id, Batch batch) {
+        long remaining = window.toNanos() - (System.nanoTime() - batch.openedAt);
+        try {
+            if (remaining > 0)
+                batch.closed.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            // The window is over.
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex);
+        }
+        flush(id, batch);
+    }
+
+    private void flush(Long id, Batch batch) {
+        // Once removed, no patch can join any more; everything that joined
+        // before is visible here.
+        batches.remove(id, batch);
+        try {
+            if (batch.previous != null)
+                batch.previous.join();
+            write(id, batch.pending);
+        } finally {
+            batch.done.complete(null);
+            lastWrites.remove(id, batch.done);
+        }
+    }
+
+    private void write(Long id, List<Pending> pending) {
+        if (pending.size() > 1)
+            meterRegistry.counter("kanban.patch.coalesced").increment(pending.size() - 1);
+        try {
+            TaskDTO saved = taskService.savePatchedTask(id, merge(pending));
+            for (int i = 0; i < pending.size(); i++)
+                pending.get(i).result().complete(new Result(saved, i == 0));
+        } catch (ResponseStatusException ex) {
+            if (pending.size() == 1 || ex.getStatusCode() == HttpStatus.CONFLICT)
+                pending.forEach(each -> each.result().completeExceptionally(ex));
+            else
+                writeOneByOne(id, pending);
+        } catch (RuntimeException ex) {
+            pending.forEach(each -> each.result().completeExceptionally(ex));
+        }
+    }
+
+    private void writeOneByOne(Long id, List<Pending> pending) {
+        TaskDTO[] saved = new TaskDTO[pending.size()];
+        RuntimeException[] failures = new RuntimeException[pending.size()];
+        int lastWritten = -1;
+        for (int i = 0; i < pending.size(); i++) {
+            JsonNode patch = pending.get(i).patch();
+            if (lastWritten >= 0)
+                patch = withoutVersion(patch);
+            try {
+                saved[i] = taskService.savePatchedTask(id, patch);
+                lastWritten = i;
+            } catch (RuntimeException ex) {
+                failures[i] = ex;
+            }
+        }
+        for (int i = 0; i < pending.size(); i++) {
+            if (failures[i] != null)
+                pending.get(i).result().completeExceptionally(failures[i]);
+            else
+                pending.get(i).result().complete(new Result(saved[i], i == lastWritten));
+        }
+    }
+
+    private JsonNode withoutVersion(JsonNode patch) {
+        if (!patch.has("version"))
+            return patch;
+        ObjectNode copy = patch.deepCopy();
+        copy.remove("version");
+        return copy;
+    }
+
+    // Patches are flat, so composing RFC 7396 patches is a member-wise
+    // overwrite in arrival order.
+    private JsonNode merge(List<Pending> pending) {
+        if (pending.size() == 1)
+            return pending.getFirst().patch();
+        ObjectNode merged = pending.getFirst().patch().deepCopy();
+        for (int i = 1; i < pending.size(); i++)
+            merged.setAll((ObjectNode) pending.get(i).patch());
+        return merged;
+    }
+}
@@ -0,0 +1,136 @@
+package com.kanban.service;
+
+import com.kanban.model.Task;
+import com.kanban.model.enums.TaskStatus;
+import com.kanban.model.projection.ProjectTaskId;
+import com.kanban.model.projection.RankColumn;
+import com.kanban.model.projection.TaskRank;
+import com.kanban.repository.ProjectRepository;
+import com.kanban.repository.TaskRepository;
+import com.kanban.util.RankUtils;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Moves only write the moved task, so ranks in a busy column slowly get
+ * longer. Every few minutes the columns whose ranks grew past
+ * MAX_RANK_LENGTH, or that still hold unranked tasks, are reranked with
+ * short evenly spaced keys in their current order.
+ * <p>
+ * A rerank rewrites every rank of a column behind the back of any loaded
+ * entity, so it takes the column lock that moves take too: a move then
+ * either sees the reranked keys or is seen by the rerank.
+ */
+@Service
+@AllArgsConstructor
+public class TaskRankService {
+
+    static final int MAX_RANK_LENGTH = 12;
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final RankUtils rankUtils;
+
+    @Scheduled(initialDelayString = "${tasks.rank.rerank-interval:PT5M}",
+            fixedDelayString = "${tasks.rank.rerank-interval:PT5M}")
+    @Transactional
+    public void rerankColumns() {
+        for (RankColumn column : projectRepository.findColumnsToRerank(MAX_RANK_LENGTH))
+            rerankColumn(column.getProjectId(), column.getStatus());
+    }
+
+    void rerankColumn(Long projectId, String status) {
+        projectRepository.lockColumn(projectId, status);
+        List<Long> ids = projectRepository.findColumnTaskIds(projectId, status);
+        if (ids.isEmpty())
+            return;
+        List<String> ranks = rankUtils.spread(ids.size());
+        taskRepository.updateRanks(ids.toArray(Long[]::new), ranks.toArray(String[]::new));
+    }
+
+    /**
+     * Ranks tasks that are about to join a project on top of their status
+     * columns there, keeping their given order. Called before the tasks are
+     * linked, so the current top of each column is that of the project.
+     */
+    public void rankOnTop(Long projectId, List<Long> taskIds) {
+        Map<Long, TaskStatus> statuses = new HashMap<>();
+        for (TaskRank task : taskRepository.findRanksByIdIn(taskIds))
+            statuses.put(task.getId(), task.getStatus());
+        Map<Long, String> ranks = topRanks(projectId, taskIds, statuses);
+        if (!ranks.isEmpty())
+            taskRepository.updateRanks(ranks.keySet().toArray(Long[]::new), ranks.values().toArray(String[]::new));
+    }
+
+    /**
+     * Ranks tasks whose status has already been changed in place on top of
+     * their new columns, keeping their given order.
+     */
+    public void rankChangedOnTop(List<Long> taskIds) {
+        idsByProject(taskIds).forEach(this::rankOnTop);
+    }
+
+    /**
+     * Puts tasks whose status is changing on top of their new columns. The
+     * ranks are set on the entities, so they are written together with the
+     * status. Tasks outside any project are in no column and are left alone.
+     */
+    public void placeOnTop(Collection<Task> tasks) {
+        Map<Long, Task> byId = new LinkedHashMap<>();
+        tasks.forEach(task -> byId.put(task.getId(), task));
+        idsByProject(byId.keySet()).forEach((projectId, ids) -> {
+            Map<Long, TaskStatus> statuses = new HashMap<>();
+            ids.forEach(id -> statuses.put(id, byId.get(id).getStatus()));
+            Map<Long, String> ranks = topRanks(projectId, ids, statuses);
+            ids.forEach(id -> byId.get(id).setRank(ranks.get(id)));
+        });
+    }
+
+    // Task ids by the project they belong to, in their given order. Projects
+    // come in id order, so their columns are always locked in the same order.
+    private Map<Long, List<Long>> idsByProject(Collection<Long> taskIds) {
+        Map<Long, Long> projectIds = new HashMap<>();
+        for (ProjectTaskId link : projectRepository.findProjectTaskIds(taskIds))
+            projectIds.put(link.getTaskId(), link.getProjectId());
+        Map<Long, List<Long>> idsByProject = new TreeMap<>();
+        for (Long id : taskIds) {
+            Long projectId = projectIds.get(id);
+            if (projectId != null)
+                idsByProject.computeIfAbsent(projectId, project -> new ArrayList<>()).add(id);
+        }
+        return idsByProject;
+    }
+
+    // New ranks on top of the project's columns, the first task highest.
+    // Columns are locked in status order, so that two callers never wait for
+    // each other. Once a column's top rank would grow past
+    // RankUtils.MAX_LENGTH, the rest of its tasks get no rank and are ranked
+    // by the next rerank.
+    private Map<Long, String> topRanks(Long projectId, List<Long> taskIds, Map<Long, TaskStatus> statuses) {
+        Map<TaskStatus, String> tops = new EnumMap<>(TaskStatus.class);
+        Set<TaskStatus> columns = EnumSet.noneOf(TaskStatus.class);
+        columns.addAll(statuses.values());
+        for (TaskStatus status : columns) {
+            projectRepository.lockColumn(projectId, status.name());
+            tops.put(status, projectRepository.findMinColumnRank(projectId, status.name()).orElse(null));
+        }
+        Map<Long, String> ranks = new LinkedHashMap<>();
+        // The last task goes on top first, so the first one ends up highest.
+        for (int i = taskIds.size() - 1; i >= 0; i--) {
+            Long id = taskIds.get(i);
+            TaskStatus status = statuses.get(id);
+            if (status == null)
+                continue;
+            String rank = rankUtils.between(null, tops.get(status));
+            if (rank.length() > RankUtils.MAX_LENGTH)
+                continue;
+            tops.put(status, rank);
+            ranks.put(id, rank);
+        }
+        return ranks;
+    }
+}
@@ -0,0 +1,150 @@
+package com.kanban.service;
+
+import com.kanban.model.Task;
+import com.kanban.model.projection.TaskSummary;
+import com.kanban.repository.TaskRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over task titles and descriptions. Terms are kept
+ * in a sorted map so every query token matches as a prefix with one range
+ * lookup; a task matches when every query token does.
+ * <p>
+ * Writes are serialized and only applied once the surrounding transaction
+ * has committed; reads are lock-free.
+ */
+@Component
+@AllArgsConstructor
+public class TaskSearchIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final TaskRepository taskRepository;
+
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Set<String>> termsByTask = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (this) {
+            postings.clear();
+            termsByTask.clear();
+            try (Stream<TaskSummary> summaries = taskRepository.streamSummaries()) {
+                summaries.forEach(summary ->
+                        put(summary.getId(), tokenize(summary.getTitle(), summary.getDescription())));
+            }
+        }
+    }
+
+    public void index(Task task) {
+        Long id = task.getId();
+        Set<String> terms = tokenize(task.getTitle(), task.getDescription());
+        afterCommit(() -> put(id, terms));
+    }
+
+    public void indexAll(Collection<Task> tasks) {
+        Map<Long, Set<String>> termsById = new HashMap<>();
+        tasks.forEach(task -> termsById.put(task.getId(), tokenize(task.getTitle(), task.getDescription())));
+        afterCommit(() -> termsById.forEach(this::put));
+    }
+
+    public void remove(Long id) {
+        afterCommit(() -> put(id, Set.of()));
+    }
+
+    public void removeAll(Collection<Long> ids) {
+        List<Long> removed = List.copyOf(ids);
+        afterCommit(() -> removed.forEach(id -> put(id, Set.of())));
+    }
+
+    /**
+     * Ids of the tasks matching every token of the query, newest first.
+     */
+    public List<Long> search(String query, int limit) {
+        Set<String> tokens = tokenize(query);
+        if (tokens.isEmpty())
+            return List.of();
+
+        Set<Long> result = null;
+        for (String token : tokens) {
+            Set<Long> matches = new HashSet<>();
+            postings.subMap(token, true, token + Character.MAX_VALUE, false)
+                    .values()
+                    .forEach(matches::addAll);
+            if (result == null) {
+                result = matches;
+            } else {
+                result.retainAll(matches);
+            }
+            if (result.isEmpty())
+                return List.of();
+        }
+        return result.stream()
+                .sorted(Comparator.reverseOrder())
+                .limit(limit)
+                .toList();
+    }
+
+    private synchronized void put(Long id, Set<String> terms) {
+        Set<String> previous = terms.isEmpty() ? termsByTask.remove(id) : termsByTask.put(id, terms);
+        if (previous != null) {
+            for (String term : previous) {
+                if (terms.contains(term))
+                    continue;
+                Set<Long> ids = postings.get(term);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty())
+                        postings.remove(term);
+                }
+            }
+        }
+        for (String term : terms) {
+            postings.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    static Set<String> tokenize(String... texts) {
+        Set<String> tokens = new HashSet<>();
+        for (String text : texts) {
+            if (text == null || text.isBlank())
+                continue;
+            String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                    .replaceAll("")
+                    .toLowerCase(Locale.ROOT);
+            for (String token : SEPARATORS.split(normalized)) {
+                if (!token.isEmpty())
+                    tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -1,19 +1,36 @@
 package com.kanban.service;
 
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.kanban.mapper.TaskMapper;
-import com.kanban.model.Project;
 import com.kanban.model.Task;
 import com.kanban.model.UserInfo;
+import com.kanban.model.dto.BulkDeleteResult;
+import com.kanban.model.dto.BulkPatchResult;
+import com.kanban.model.dto.BulkTransitionResult;
+import com.kanban.model.dto.TaskCursorPage;
 import com.kanban.model.dto.TaskDTO;
+import com.kanban.model.enums.TaskPriority;
 import com.kanban.model.enums.TaskStatus;
+import com.kanban.model.payload.BulkPatchRequest;
+import com.kanban.model.payload.BulkTransitionRequest;
+import com.kanban.model.payload.TaskFilter;
+import com.kanban.model.payload.TaskMoveRequest;
+import com.kanban.model.projection.TaskAssigneeId;
+import com.kanban.model.projection.TaskRank;
+import com.kanban.model.projection.TaskSummary;
 import com.kanban.repository.ProjectRepository;
 import com.kanban.repository.TaskRepository;
+import com.kanban.repository.TaskSpecifications;
 import com.kanban.repository.UserInfoRepository;
-import com.kanban.util.BeanUtilsWrapper;
+import com.kanban.util.CursorUtils;
+import com.kanban.util.JsonPatchApplier;
+import com.kanban.util.MergePatchApplier;
+import com.kanban.util.RankUtils;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
@@ -22,51 +39,165 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class TaskService {
 
+    private static final String ASSIGNEES = "taskAssignees";
+
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
     private final UserInfoRepository userInfoRepository;
     private final TaskMapper taskMapper;
-    private final BeanUtilsWrapper beanUtilsWrapper;
+    private final MergePatchApplier mergePatchApplier;
+    private final JsonPatchApplier jsonPatchApplier;
+    private final CursorUtils cursorUtils;
+    private final RankUtils rankUtils;
+    private final TaskRankService taskRankService;
+    private final TaskSearchIndex taskSearchIndex;
+    private final ProjectStatsService projectStatsService;
+    private final PatchRebaseService patchRebaseService;
+    private final EntityManager entityManager;
 
-    public Page<TaskDTO> getTasks(String status, Pageable pageable) {
-        if (status == null)
-            return taskRepository.findAll(pageable).map(taskMapper::taskToDTO);
+    public List<TaskDTO> getTasks(String status, Pageable pageable) {
+        TaskStatus taskStatus = parseStatus(status);
+        List<TaskSummary> summaries = taskStatus == null
+                ? taskRepository.findSummariesBy(pageable)
+                : taskRepository.findSummariesByStatus(taskStatus, pageable);
+        return summariesToDTOs(summaries);
+    }
+
+    public List<TaskDTO> filterTasks(TaskFilter filter, Pageable pageable) {
+        if (filter.getDueFrom() != null && filter.getDueTo() != null
+                && filter.getDueFrom().isAfter(filter.getDueTo()))
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "dueFrom must not be after dueTo");
+        return summariesToDTOs(taskRepository.findSummaries(TaskSpecifications.matching(filter), pageable));
+    }
+
+    public List<TaskDTO> searchTasks(String query, int limit) {
+        if (query == null || query.isBlank())
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query must not be empty");
+        if (limit < 1)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be positive");
+        List<Long> ids = taskSearchIndex.search(query, limit);
+        if (ids.isEmpty())
+            return List.of();
+
+        Map<Long, TaskSummary> summariesById = taskRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(TaskSummary::getId, summary -> summary));
+        return summariesToDTOs(ids.stream()
+                .map(summariesById::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    public TaskCursorPage getTasksByCursor(String status, String cursor, int size) {
+        TaskStatus taskStatus = parseStatus(status);
+        Limit limit = Limit.of(size + 1);
+
+        List<TaskSummary> summaries;
+        if (cursor == null || cursor.isBlank()) {
+            summaries = taskStatus == null
+                    ? taskRepository.findFirstPage(limit)
+                    : taskRepository.findFirstPageByStatus(taskStatus, limit);
+        } else {
+            CursorUtils.Cursor after = cursorUtils.decode(cursor);
+            summaries = taskStatus == null
+                    ? taskRepository.findPageAfter(after.createdAt(), after.id(), limit)
+                    : taskRepository.findPageAfterByStatus(taskStatus, after.createdAt(), after.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (summaries.size() > size) {
+            summaries = summaries.subList(0, size);
+            TaskSummary last = summaries.getLast();
+            nextCursor = cursorUtils.encode(last.getCreatedAt(), last.getId());
+        }
+        return TaskCursorPage.builder()
+                .content(summariesToDTOs(summaries))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // Resolves the assignees of a whole page with a single task_assignees query.
+    private List<TaskDTO> summariesToDTOs(List<TaskSummary> summaries) {
+        if (summaries.isEmpty())
+            return List.of();
+        List<Long> taskIds = summaries.stream().map(TaskSummary::getId).toList();
+        Map<Long, List<Long>> assigneeIds = taskRepository.findAssigneeIds(taskIds).stream()
+                .collect(Collectors.groupingBy(TaskAssigneeId::getTaskId,
+                        Collectors.mapping(TaskAssigneeId::getUserId, Collectors.toList())));
+        return summaries.stream()
+                .map(summary -> taskMapper.summaryToDTO(summary,
+                        assigneeIds.getOrDefault(summary.getId(), List.of())))
+                .toList();
+    }
 
-        if (status.contains(TaskStatus.TO_DO.name()) ||
-                status.contains(TaskStatus.IN_PROGRESS.name()) ||
-                status.contains(TaskStatus.DONE.name())
-        ) {
-            return taskRepository.findByStatus(TaskStatus.valueOf(status), pageable)
-                    .map(taskMapper::taskToDTO);
-        } else throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    // Loads all users in one query; any ids that do not exist are reported
+    // together.
+    private List<UserInfo> findUsers(Collection<Long> ids) {
+        if (ids.isEmpty())
+            return List.of();
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        List<UserInfo> users = userInfoRepository.findAllById(requested);
+        if (users.size() < requested.size()) {
+            users.forEach(user -> requested.remove(user.getId()));
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Users not found: " + requested);
+        }
+        return users;
+    }
+
+    private TaskStatus parseStatus(String status) {
+        if (status == null)
+            return null;
+        try {
+            return TaskStatus.valueOf(status);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+        }
     }
 
     public Optional<Task> getTaskById(Long id) {
         return taskRepository.findById(id);
     }
 
+    public Optional<Long> getTaskVersion(Long id) {
+        return taskRepository.findVersionById(id);
+    }
+
     public TaskDTO saveNewTask(Task task) {
         if (task.getVersion() == null)
             task.setVersion(1L);
         if (task.getCreatedAt() == null)
             task.setCreatedAt(LocalDateTime.now());
+        // A new task is in no project yet, hence in no column. It is ranked
+        // when it joins one, see TaskRankService#rankOnTop.
+        task.setRank(null);
         Task savedTask = taskRepository.save(task);
+        taskSearchIndex.index(savedTask);
         return taskMapper.taskToDTO(savedTask);
     }
 
+    @Transactional
     public TaskDTO updateTask(Long id, Task newTask) {
-        if (!taskRepository.existsById(id))
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        Task existingTask = taskRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
         if (newTask.getVersion() == null)
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+        TaskStatus oldStatus = existingTask.getStatus();
+        TaskPriority oldPriority = existingTask.getPriority();
+        newTask.setRank(existingTask.getRank());
         newTask.setUpdatedAt(LocalDateTime.now());
         try {
+            if (newTask.getStatus() != oldStatus)
+                taskRankService.placeOnTop(List.of(newTask));
             Task updatedTask = taskRepository.save(newTask);
+            taskRepository.flush();
+            projectStatsService.taskChanged(id, oldStatus, oldPriority,
+                    updatedTask.getStatus(), updatedTask.getPriority());
+            taskSearchIndex.index(updatedTask);
             return taskMapper.taskToDTO(updatedTask);
         } catch (ObjectOptimisticLockingFailureException ex) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Task was updated concurrently");
@@ -74,45 +205,321 @@ public class TaskService {
     }
 
     @Transactional
-    public TaskDTO savePatchedTask(Long id, Task patchedTask) {
-        if (patchedTask.getVersion() == null)
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+    public TaskDTO savePatchedTask(Long id, JsonNode patch) {
+        return savePatchedTask(id, patch, false);
+    }
+
+    /**
+     * With {@code rebase}, a patch based on an older version is still applied
+     * when the commits since then touched none of its members, and a lost
+     * race surfaces as ObjectOptimisticLockingFailureException so that the
+     * caller can retry it.
+     */
+    @Transactional
+    public TaskDTO savePatchedTask(Long id, JsonNode patch, boolean rebase) {
         Task existingTask = taskRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
-        beanUtilsWrapper.copyProperties(patchedTask, existingTask,
-                "id", "version", "taskAssignees", "createdAt", "updatedAt");
+        Long baseVersion = existingTask.getVersion();
+        if (!rebase || !patchRebaseService.canRebase(Task.class, id, patch, baseVersion))
+            mergePatchApplier.checkVersion(patch, baseVersion, "Task was updated concurrently");
+        TaskStatus oldStatus = existingTask.getStatus();
+        TaskPriority oldPriority = existingTask.getPriority();
+        mergePatchApplier.apply(patch, existingTask);
         existingTask.setUpdatedAt(LocalDateTime.now());
 
-        if (patchedTask.getTaskAssignees() != null) {
+        List<Long> assigneeIds = mergePatchApplier.referencedIds(patch, "taskAssignees");
+        if (assigneeIds != null) {
+            List<UserInfo> assignees = findUsers(assigneeIds);
             existingTask.getTaskAssignees().clear();
-            patchedTask.getTaskAssignees().forEach(taskAssignee -> {
-                UserInfo currentUser = userInfoRepository.findById(taskAssignee.getId())
-                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-                existingTask.getTaskAssignees().add(currentUser);
-            });
+            existingTask.getTaskAssignees().addAll(assignees);
         }
 
         try {
-            Task savedTask = taskRepository.save(existingTask);
+            if (existingTask.getStatus() != oldStatus)
+                taskRankService.placeOnTop(List.of(existingTask));
+            Task savedTask = taskRepository.saveAndFlush(existingTask);
+            projectStatsService.taskChanged(id, oldStatus, oldPriority,
+                    savedTask.getStatus(), savedTask.getPriority());
+            taskSearchIndex.index(savedTask);
+            patchRebaseService.recordAfterCommit(Task.class, id, baseVersion, savedTask::getVersion, patch);
             return taskMapper.taskToDTO(savedTask);
         } catch (ObjectOptimisticLockingFailureException ex) {
+            if (rebase)
+                throw ex;
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Task was updated concurrently");
         }
     }
 
+    @Transactional
     public void deleteTaskById(Long id) {
-        Optional<Task> taskToDeleteOpt = taskRepository.findById(id);
-        if (taskToDeleteOpt.isPresent()) {
-            Task taskToDelete = taskToDeleteOpt.get();
-            Optional<Project> taskProjectOpt = projectRepository.findAll().stream()
-                    .filter(project -> project.getTasks().contains(taskToDelete))
-                    .findAny();
-            if (taskProjectOpt.isPresent()) {
-                Project project = taskProjectOpt.get();
-                project.getTasks().remove(taskToDelete);
-                projectRepository.save(project);
+        Task taskToDelete = taskRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        projectRepository.findProjectIdByTaskId(id).ifPresent(projectId -> {
+            projectRepository.deleteTaskLinks(List.of(id));
+            projectStatsService.taskRemoved(projectId, taskToDelete.getStatus(), taskToDelete.getPriority());
+        });
+        taskRepository.deleteById(id);
+        taskSearchIndex.remove(id);
+    }
+
+    /**
+     * Places a task between two neighbours of its (possibly new) column. Only
+     * the moved task's row is written; its new rank is picked from the gap
+     * between the neighbours' ranks.
+     */
+    @Transactional
+    public TaskDTO moveTask(Long id, TaskMoveRequest move) {
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
+        if (move.getVersion() != null && !move.getVersion().equals(task.getVersion()))
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Task was updated concurrently");
+        if (id.equals(move.getPreviousId()) || id.equals(move.getNextId()))
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A task cannot be its own neighbour");
+
+        TaskStatus status = move.getStatus() != null ? move.getStatus() : task.getStatus();
+        // Locked before the neighbours are read, so that a concurrent rerank
+        // of the target column either finishes first or waits for this move.
+        Long projectId = projectRepository.findProjectIdByTaskId(id).orElse(null);
+        if (projectId != null)
+            projectRepository.lockColumn(projectId, status.name());
+        String rank = rankBetweenNeighbours(move, status, projectId);
+        if (rank.length() > RankUtils.MAX_LENGTH && projectId != null) {
+            // The gap between the neighbours is used up. Respace the column
+            // now instead of waiting for the scheduled rerank, and pick again.
+            // The rerank moves the versions of the column's tasks, so the
+            // task is reloaded before it is written.
+            taskRankService.rerankColumn(projectId, status.name());
+            entityManager.refresh(task);
+            rank = rankBetweenNeighbours(move, status, projectId);
+        }
+        if (rank.length() > RankUtils.MAX_LENGTH)
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "No room left between the neighbours");
+
+        TaskStatus oldStatus = task.getStatus();
+        task.setStatus(status);
+        task.setRank(rank);
+        task.setUpdatedAt(LocalDateTime.now());
+        try {
+            Task savedTask = taskRepository.save(task);
+            taskRepository.flush();
+            projectStatsService.taskChanged(id, oldStatus, savedTask.getPriority(),
+                    savedTask.getStatus(), savedTask.getPriority());
+            return taskMapper.taskToDTO(savedTask);
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Task was updated concurrently");
+        }
+    }
+
+    private String rankBetweenNeighbours(TaskMoveRequest move, TaskStatus status, Long projectId) {
+        List<Long> neighbourIds = new ArrayList<>(2);
+        if (move.getPreviousId() != null)
+            neighbourIds.add(move.getPreviousId());
+        if (move.getNextId() != null)
+            neighbourIds.add(move.getNextId());
+        Map<Long, TaskRank> neighbours = neighbourIds.isEmpty() ? Map.of() :
+                taskRepository.findRanksByIdIn(neighbourIds).stream()
+                        .collect(Collectors.toMap(TaskRank::getId, rank -> rank));
+        String previousRank = neighbourRank(neighbours, move.getPreviousId(), status, projectId);
+        String nextRank = neighbourRank(neighbours, move.getNextId(), status, projectId);
+        if (previousRank != null && nextRank != null && previousRank.compareTo(nextRank) >= 0)
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Neighbours are no longer adjacent");
+        return rankUtils.between(previousRank, nextRank);
+    }
+
+    private String neighbourRank(Map<Long, TaskRank> neighbours, Long id, TaskStatus status, Long projectId) {
+        if (id == null)
+            return null;
+        TaskRank neighbour = neighbours.get(id);
+        if (neighbour == null)
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Neighbour task not found");
+        if (!Objects.equals(neighbour.getProjectId(), projectId))
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Neighbour is on another board");
+        if (neighbour.getStatus() != status)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Neighbour is in another column");
+        if (neighbour.getRank() == null)
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Neighbour has not been ranked yet");
+        return neighbour.getRank();
+    }
+
+    // Set-based delete: the statement count does not depend on how many ids
+    // are passed. Ids that do not exist are reported back rather than failing
+    // the whole batch.
+    @Transactional
+    public BulkDeleteResult deleteTasks(Collection<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        List<Long> existing = taskRepository.findExistingIds(requested);
+        if (!existing.isEmpty()) {
+            projectStatsService.tasksRemoved(existing);
+            projectRepository.deleteTaskLinks(existing);
+            taskRepository.deleteAssigneeLinks(existing);
+            taskRepository.deleteAllByIdInBatch(existing);
+            taskSearchIndex.removeAll(existing);
+        }
+        Set<Long> deleted = new HashSet<>(existing);
+        return BulkDeleteResult.builder()
+                .deleted(requested.stream().filter(deleted::contains).toList())
+                .notFound(requested.stream().filter(id -> !deleted.contains(id)).toList())
+                .build();
+    }
+
+    @Transactional
+    public BulkTransitionResult transitionTasks(TaskStatus status,
+                                                List<BulkTransitionRequest.ExpectedVersion> expected) {
+        Map<Long, Long> versions = new LinkedHashMap<>();
+        expected.forEach(entry -> versions.putIfAbsent(entry.getId(), entry.getVersion()));
+
+        List<Long> transitioned = taskRepository.transitionStatus(
+                versions.keySet().toArray(Long[]::new), versions.values().toArray(Long[]::new),
+                status.name(), LocalDateTime.now());
+        Set<Long> updated = new HashSet<>(transitioned);
+        if (!updated.isEmpty()) {
+            projectStatsService.tasksChanged(updated);
+            taskRankService.rankChangedOnTop(versions.keySet().stream().filter(updated::contains).toList());
+        }
+
+        List<Long> missed = versions.keySet().stream().filter(id -> !updated.contains(id)).toList();
+        Set<Long> existing = missed.isEmpty() ? Set.of() : new HashSet<>(taskRepository.findExistingIds(missed));
+        return BulkTransitionResult.builder()
+                .status(status.name())
+                .updated(versions.keySet().stream().filter(updated::contains).toList())
+                .conflicts(missed.stream().filter(existing::contains).toList())
+                .notFound(missed.stream().filter(id -> !existing.contains(id)).toList())
+                .build();
+    }
+
+    /**
+     * Applies a JSON Patch to each task in one transaction. Tasks and the
+     * users they reference are loaded with one query each, and all updates
+     * go out in a single flush. An item that fails is reported with its
+     * status and left untouched, the others are still applied.
+     */
+    @Transactional
+    public BulkPatchResult patchTasks(List<BulkPatchRequest.TaskPatch> patches) {
+        BulkPatchResult.ItemResult[] results = new BulkPatchResult.ItemResult[patches.size()];
+        Map<Integer, List<JsonPatchApplier.Operation>> operations = new HashMap<>();
+        Set<Long> userIds = new HashSet<>();
+        for (int i = 0; i < patches.size(); i++) {
+            try {
+                List<JsonPatchApplier.Operation> parsed = jsonPatchApplier.parse(patches.get(i).getPatch());
+                for (JsonPatchApplier.Operation operation : parsed)
+                    if (ASSIGNEES.equals(operation.member()) && !"remove".equals(operation.op())
+                            && !"test".equals(operation.op()))
+                        userIds.addAll(jsonPatchApplier.referencedIds(operation));
+                operations.put(i, parsed);
+            } catch (ResponseStatusException ex) {
+                results[i] = failed(patches.get(i).getId(), ex);
+            }
+        }
+
+        Map<Long, Task> tasks = taskRepository.findAllById(
+                        patches.stream().map(BulkPatchRequest.TaskPatch::getId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Task::getId, task -> task));
+        Map<Long, UserInfo> users = userIds.isEmpty() ? Map.of() :
+                userInfoRepository.findAllById(userIds).stream()
+                        .collect(Collectors.toMap(UserInfo::getId, user -> user));
+
+        Map<Integer, Task> patched = new LinkedHashMap<>();
+        Set<Long> seen = new HashSet<>();
+        Set<Long> recounted = new HashSet<>();
+        List<Task> moved = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Integer, List<JsonPatchApplier.Operation>> entry : new TreeMap<>(operations).entrySet()) {
+            BulkPatchRequest.TaskPatch item = patches.get(entry.getKey());
+            Task task = tasks.get(item.getId());
+            if (task == null) {
+                results[entry.getKey()] = failed(item.getId(), HttpStatus.NOT_FOUND, "Task not found");
+            } else if (!seen.add(item.getId())) {
+                results[entry.getKey()] = failed(item.getId(), HttpStatus.BAD_REQUEST,
+                        "Task is patched more than once");
+            } else if (!item.getVersion().equals(task.getVersion())) {
+                results[entry.getKey()] = failed(item.getId(), HttpStatus.CONFLICT,
+                        "Task was updated concurrently");
+            } else {
+                TaskStatus oldStatus = task.getStatus();
+                TaskPriority oldPriority = task.getPriority();
+                try {
+                    applyOperations(task, entry.getValue(), users);
+                } catch (ResponseStatusException ex) {
+                    // Nothing has been flushed yet, so detaching drops the
+                    // partly applied changes.
+                    entityManager.detach(task);
+                    results[entry.getKey()] = failed(item.getId(), ex);
+                    continue;
+                }
+                task.setUpdatedAt(now);
+                patched.put(entry.getKey(), task);
+                if (oldStatus != task.getStatus() || oldPriority != task.getPriority())
+                    recounted.add(task.getId());
+                if (oldStatus != task.getStatus())
+                    moved.add(task);
+            }
+        }
+
+        if (!patched.isEmpty()) {
+            try {
+                if (!moved.isEmpty())
+                    taskRankService.placeOnTop(moved);
+                taskRepository.flush();
+            } catch (ObjectOptimisticLockingFailureException ex) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Tasks were updated concurrently");
+            }
+            if (!recounted.isEmpty())
+                projectStatsService.tasksChanged(recounted);
+            taskSearchIndex.indexAll(patched.values());
+
+            Map<Long, List<Long>> assigneeIds = taskRepository.findAssigneeIds(
+                            patched.values().stream().map(Task::getId).toList()).stream()
+                    .collect(Collectors.groupingBy(TaskAssigneeId::getTaskId,
+                            Collectors.mapping(TaskAssigneeId::getUserId, Collectors.toList())));
+            patched.forEach((index, task) -> results[index] = new BulkPatchResult.ItemResult(
+                    task.getId(), HttpStatus.OK.value(), null,
+                    taskMapper.taskToDTO(task, assigneeIds.getOrDefault(task.getId(), List.of()))));
+        }
+        return BulkPatchResult.builder()
+                .updated(patched.size())
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    // Scalar members go through JsonPatchApplier; assignees are resolved
+    // against the users loaded up front.
+    private void applyOperations(Task task, List<JsonPatchApplier.Operation> operations,
+                                 Map<Long, UserInfo> users) {
+        for (JsonPatchApplier.Operation operation : operations) {
+            if (!ASSIGNEES.equals(operation.member())) {
+                jsonPatchApplier.apply(operation, task);
+                continue;
+            }
+            switch (operation.op()) {
+                case "remove" -> {
+                    if (operation.index() != null)
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                "Unsupported path: " + operation.path());
+                    task.getTaskAssignees().clear();
+                }
+                case "add", "replace" -> {
+                    if ("replace".equals(operation.op()) && operation.index() != null)
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                "Unsupported path: " + operation.path());
+                    List<Long> ids = jsonPatchApplier.referencedIds(operation);
+                    List<Long> missing = ids.stream().filter(id -> !users.containsKey(id)).toList();
+                    if (!missing.isEmpty())
+                        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Users not found: " + missing);
+                    if (operation.index() == null)
+                        task.getTaskAssignees().clear();
+                    ids.forEach(id -> task.getTaskAssignees().add(users.get(id)));
+                }
+                default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unsupported operation on " + ASSIGNEES + ": " + operation.op());
             }
-            taskRepository.deleteById(id);
-        } else throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    private BulkPatchResult.ItemResult failed(Long id, ResponseStatusException ex) {
+        return new BulkPatchResult.ItemResult(id, ex.getStatusCode().value(), ex.getReason(), null);
+    }
+
+    private BulkPatchResult.ItemResult failed(Long id, HttpStatus status, String message) {
+        return new BulkPatchResult.ItemResult(id, status.value(), message, null);
     }
 }
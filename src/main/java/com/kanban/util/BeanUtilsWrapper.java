@@ -1,13 +0,0 @@
-package com.kanban.util;
-
-import org.springframework.beans.BeanUtils;
-import org.springframework.stereotype.Component;
-
-@Component
-public class BeanUtilsWrapper {
-
-    public void copyProperties(Object source, Object target, String... ignoreProperties) {
-        BeanUtils.copyProperties(source, target, ignoreProperties);
-    }
-
-}
\ No newline at end of file
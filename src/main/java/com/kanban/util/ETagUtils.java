@@ -0,0 +1,61 @@
+package com.kanban.util;
+
+import com.kanban.model.Project;
+import com.kanban.model.Task;
+import com.kanban.model.projection.ProjectVersionStamp;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.stream.Collectors;
+
+/**
+ * Builds strong entity tags from {@code @Version} columns. A project's JSON
+ * embeds its tasks, so its tag also carries an MD5 digest of the task ids
+ * and versions, ordered by id. A count and a sum of versions would stay the
+ * same when one task is swapped for another with the same version. The
+ * version-only query computes the same digest in SQL, so both paths
+ * produce the same tag.
+ */
+@Component
+public class ETagUtils {
+
+    public String taskETag(Long id, Long version) {
+        return "\"task-" + id + "-" + version + "\"";
+    }
+
+    public String taskETag(Task task) {
+        return taskETag(task.getId(), task.getVersion());
+    }
+
+    public String projectETag(Long id, ProjectVersionStamp stamp) {
+        return projectETag(id, stamp.getVersion(), stamp.getTaskDigest());
+    }
+
+    public String projectETag(Project project) {
+        return projectETag(project.getId(), project.getVersion(), taskDigest(project));
+    }
+
+    // md5(string_agg(id || ':' || version, ',' order by id)) in SQL, where
+    // string_agg skips tasks without a version.
+    String taskDigest(Project project) {
+        String pairs = project.getTasks().stream()
+                .filter(task -> task.getVersion() != null)
+                .sorted(Comparator.comparing(Task::getId))
+                .map(task -> task.getId() + ":" + task.getVersion())
+                .collect(Collectors.joining(","));
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(pairs.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("MD5 is not available", ex);
+        }
+    }
+
+    private String projectETag(Long id, Long version, String taskDigest) {
+        return "\"project-" + id + "-" + version + "-" + taskDigest + "\"";
+    }
+}
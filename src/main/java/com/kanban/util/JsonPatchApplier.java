@@ -0,0 +1,105 @@
+package com.kanban.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Applies RFC 6902 JSON Patch operations onto a managed entity, through the
+ * same accessor handles as {@link MergePatchApplier}.
+ * <p>
+ * Entities are flat, so a path names one top-level member. "add", "replace",
+ * "remove" and "test" are supported; "move" and "copy" are rejected, since
+ * no two patchable members share a meaning. Paths into an association
+ * ({@code /member/-}) are parsed here but left to the caller, which has to
+ * resolve them by id.
+ */
+@Component
+@AllArgsConstructor
+public class JsonPatchApplier {
+
+    private static final Set<String> OPERATIONS = Set.of("add", "replace", "remove", "test");
+    private static final Set<String> VALUED = Set.of("add", "replace", "test");
+
+    private final MergePatchApplier mergePatchApplier;
+
+    /**
+     * A parsed operation. {@code index} is the second path segment, if any.
+     */
+    public record Operation(String op, String member, String index, JsonNode value) {
+
+        public String path() {
+            return "/" + member + (index == null ? "" : "/" + index);
+        }
+    }
+
+    public List<Operation> parse(JsonNode patch) {
+        if (patch == null || !patch.isArray() || patch.isEmpty())
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "JSON Patch must be a non-empty array");
+        List<Operation> operations = new ArrayList<>(patch.size());
+        for (JsonNode operation : patch) {
+            JsonNode op = operation.get("op");
+            JsonNode path = operation.get("path");
+            if (op == null || !op.isTextual() || path == null || !path.isTextual())
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Every operation needs an op and a path");
+            if (!OPERATIONS.contains(op.asText()))
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported operation: " + op.asText());
+            JsonNode value = operation.get("value");
+            if (VALUED.contains(op.asText()) && value == null)
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, op.asText() + " needs a value");
+
+            String[] segments = segments(path.asText());
+            operations.add(new Operation(op.asText(), segments[0],
+                    segments.length > 1 ? segments[1] : null, value));
+        }
+        return operations;
+    }
+
+    public void apply(Operation operation, Object target) {
+        if (operation.index() != null)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported path: " + operation.path());
+        switch (operation.op()) {
+            case "add", "replace" -> mergePatchApplier.set(target, operation.member(), operation.value());
+            case "remove" -> mergePatchApplier.set(target, operation.member(), NullNode.getInstance());
+            case "test" -> {
+                if (!mergePatchApplier.matches(target, operation.member(), operation.value()))
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "Test failed for " + operation.path());
+            }
+            default -> throw new IllegalStateException("Unexpected operation " + operation.op());
+        }
+    }
+
+    /**
+     * Ids referenced by an "add" or "replace" on an association: the whole
+     * array for {@code /member}, or a single element for {@code /member/-}.
+     */
+    public List<Long> referencedIds(Operation operation) {
+        if (operation.index() == null)
+            return mergePatchApplier.idsOf(operation.value(), operation.member());
+        if (!"-".equals(operation.index()))
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Association elements can only be appended: " + operation.path());
+        return mergePatchApplier.idsOf(JsonNodeFactory.instance.arrayNode().add(operation.value()),
+                operation.member());
+    }
+
+    // RFC 6901 pointer, at most two segments deep.
+    private static String[] segments(String pointer) {
+        if (!pointer.startsWith("/") || pointer.length() == 1)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid path: " + pointer);
+        String[] segments = pointer.substring(1).split("/", -1);
+        if (segments.length > 2)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported path: " + pointer);
+        for (int i = 0; i < segments.length; i++)
+            segments[i] = segments[i].replace("~1", "/").replace("~0", "~");
+        return segments;
+    }
+}
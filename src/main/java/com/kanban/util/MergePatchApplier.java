@@ -0,0 +1,186 @@
+package com.kanban.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.kanban.model.Project;
+import com.kanban.model.Task;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.BeanUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.*;
+
+/**
+ * Applies an RFC 7396 merge patch straight onto a managed entity. Only the
+ * members present in the patch are read and written; the entity itself is
+ * never serialized. Accessor handles and value readers are built once per
+ * entity type at startup, and are shared with {@link JsonPatchApplier}.
+ * <p>
+ * Identity, version, audit and rank properties are never written; ranks
+ * only change through a move. Associations
+ * are skipped too, since the caller has to resolve them by id.
+ */
+@Component
+public class MergePatchApplier {
+
+    private static final Set<String> SKIPPED = Set.of("id", "version", "createdAt", "updatedAt", "rank");
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Validator validator;
+    private final Map<Class<?>, Map<String, PropertyHandle>> handles;
+
+    private record PropertyHandle(MethodHandle getter, MethodHandle setter, ObjectReader reader) {}
+
+    public MergePatchApplier(ObjectMapper objectMapper, Validator validator) {
+        this.validator = validator;
+        this.handles = Map.of(
+                Task.class, describe(Task.class, objectMapper),
+                Project.class, describe(Project.class, objectMapper));
+    }
+
+    public <T> T apply(JsonNode patch, T target) {
+        if (patch == null || !patch.isObject())
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Merge patch must be a JSON object");
+        Map<String, PropertyHandle> properties = propertiesOf(target);
+
+        Iterator<Map.Entry<String, JsonNode>> members = patch.fields();
+        while (members.hasNext()) {
+            Map.Entry<String, JsonNode> member = members.next();
+            PropertyHandle property = properties.get(member.getKey());
+            if (property != null)
+                write(target, member.getKey(), property, member.getValue());
+        }
+        return target;
+    }
+
+    /**
+     * Writes a single member, as a JSON Patch "add" or "replace" does. Unlike
+     * a merge patch, naming a member that cannot be written is an error.
+     */
+    public <T> void set(T target, String member, JsonNode value) {
+        write(target, member, property(target, member), value);
+    }
+
+    /**
+     * Whether a member currently holds the given value, compared after
+     * reading the value as the member's type.
+     */
+    public boolean matches(Object target, String member, JsonNode value) {
+        PropertyHandle property = property(target, member);
+        Object expected = read(member, property, value);
+        try {
+            return Objects.equals(property.getter().invokeExact(target), expected);
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Could not read " + member, ex);
+        }
+    }
+
+    /**
+     * A patch may omit the version; if it carries one, it has to be the
+     * current version of the entity.
+     */
+    public void checkVersion(JsonNode patch, Long currentVersion, String conflictReason) {
+        JsonNode version = patch.get("version");
+        if (version == null)
+            return;
+        if (!version.canConvertToLong())
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "version must be a number");
+        if (!Objects.equals(version.asLong(), currentVersion))
+            throw new ResponseStatusException(HttpStatus.CONFLICT, conflictReason);
+    }
+
+    /**
+     * Ids referenced by an association member, given either as plain ids or
+     * as objects with an id. Returns null when the member is absent and an
+     * empty list when it is explicitly null.
+     */
+    public List<Long> referencedIds(JsonNode patch, String member) {
+        JsonNode references = patch.get(member);
+        return references == null ? null : idsOf(references, member);
+    }
+
+    /**
+     * Same as {@link #referencedIds(JsonNode, String)}, given the member's
+     * value rather than the whole patch.
+     */
+    public List<Long> idsOf(JsonNode references, String member) {
+        if (references.isNull())
+            return List.of();
+        if (!references.isArray())
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, member + " must be an array");
+
+        List<Long> ids = new ArrayList<>(references.size());
+        for (JsonNode reference : references) {
+            JsonNode id = reference.isObject() ? reference.get("id") : reference;
+            if (id == null || !id.canConvertToLong())
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, member + " must reference ids");
+            ids.add(id.asLong());
+        }
+        return ids;
+    }
+
+    private <T> void write(T target, String name, PropertyHandle property, JsonNode value) {
+        Object converted = read(name, property, value);
+        try {
+            property.setter().invokeExact(target, converted);
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Could not write " + name, ex);
+        }
+        Set<ConstraintViolation<T>> violations = validator.validateProperty(target, name);
+        if (!violations.isEmpty())
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    name + " " + violations.iterator().next().getMessage());
+    }
+
+    private Object read(String name, PropertyHandle property, JsonNode value) {
+        try {
+            return value.isNull() ? null : property.reader().readValue(value);
+        } catch (IOException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid value for " + name);
+        }
+    }
+
+    private Map<String, PropertyHandle> propertiesOf(Object target) {
+        Map<String, PropertyHandle> properties = handles.get(target.getClass());
+        if (properties == null)
+            throw new IllegalArgumentException("No patch descriptors for " + target.getClass());
+        return properties;
+    }
+
+    private PropertyHandle property(Object target, String member) {
+        PropertyHandle property = propertiesOf(target).get(member);
+        if (property == null)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, member + " cannot be patched");
+        return property;
+    }
+
+    private static Map<String, PropertyHandle> describe(Class<?> type, ObjectMapper objectMapper) {
+        Map<String, PropertyHandle> properties = new HashMap<>();
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(type)) {
+            if (descriptor.getReadMethod() == null || descriptor.getWriteMethod() == null || SKIPPED.contains(descriptor.getName())
+                    || Collection.class.isAssignableFrom(descriptor.getPropertyType()))
+                continue;
+            try {
+                MethodHandle getter = lookup.unreflect(descriptor.getReadMethod()).asType(GETTER_TYPE);
+                MethodHandle setter = lookup.unreflect(descriptor.getWriteMethod()).asType(SETTER_TYPE);
+                ObjectReader reader = objectMapper.readerFor(
+                        objectMapper.constructType(descriptor.getWriteMethod().getGenericParameterTypes()[0]));
+                properties.put(descriptor.getName(), new PropertyHandle(getter, setter, reader));
+            } catch (IllegalAccessException ex) {
+                throw new IllegalStateException("Accessors of " + descriptor.getName() + " are not accessible", ex);
+            }
+        }
+        return Map.copyOf(properties);
+    }
+}
@@ -0,0 +1,103 @@
+package com.kanban.util;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fractional ranks for ordering tasks inside a board column. A rank is a
+ * base-36 fraction written as lowercase digits without trailing zeros, so
+ * ranks compare as plain strings and there is always room for another rank
+ * between two neighbours. Empty ranks and ranks with trailing zeros are
+ * rejected: no rank could sort between "h" and "h0".
+ */
+@Component
+public class RankUtils {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    // Length of the tasks.rank column.
+    public static final int MAX_LENGTH = 64;
+
+    /**
+     * A rank that sorts after {@code before} and ahead of {@code after};
+     * either bound may be null. Ranks at the ends of a column step by one
+     * digit instead of halving the gap, so repeated prepends and appends
+     * keep the keys short. A rank longer than MAX_LENGTH means the column
+     * has to be reranked first.
+     */
+    public String between(String before, String after) {
+        checkRank(before);
+        checkRank(after);
+        if (before != null && after != null && before.compareTo(after) >= 0)
+            throw new IllegalArgumentException("Rank bounds are out of order");
+        boolean top = before == null && after != null;
+        boolean bottom = before != null && after == null;
+        StringBuilder rank = new StringBuilder();
+        for (int i = 0; ; i++) {
+            int low = before != null && i < before.length() ? digit(before.charAt(i)) : 0;
+            int high = after == null ? BASE : i < after.length() ? digit(after.charAt(i)) : 0;
+            if (low == high) {
+                rank.append(DIGITS.charAt(low));
+                continue;
+            }
+            int candidate;
+            if (bottom)
+                candidate = low + 1;
+            else if (top && after != null)
+                candidate = high - 1;
+            else
+                candidate = (low + high) / 2;
+            if (candidate > low && candidate < high)
+                return rank.append(DIGITS.charAt(candidate)).toString();
+            // No digit fits at this position: keep the lower one and look for
+            // room further right, where the upper bound no longer applies.
+            // That is not the end of the column, so the gap is still halved.
+            rank.append(DIGITS.charAt(low));
+            after = null;
+        }
+    }
+
+    /**
+     * {@code count} ranks spread evenly over the whole range, all of the
+     * shortest length that can tell them apart.
+     */
+    public List<String> spread(int count) {
+        int width = 1;
+        long span = BASE;
+        while (span <= count) {
+            span *= BASE;
+            width++;
+        }
+        List<String> ranks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++)
+            ranks.add(format(span * i / (count + 1), width));
+        return ranks;
+    }
+
+    private String format(long value, int width) {
+        char[] digits = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            digits[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        int length = width;
+        while (digits[length - 1] == '0')
+            length--;
+        return new String(digits, 0, length);
+    }
+
+    private void checkRank(String rank) {
+        if (rank != null && (rank.isEmpty() || rank.charAt(rank.length() - 1) == '0'))
+            throw new IllegalArgumentException("Invalid rank");
+    }
+
+    private int digit(char c) {
+        int digit = DIGITS.indexOf(c);
+        if (digit < 0)
+            throw new IllegalArgumentException("Invalid rank");
+        return digit;
+    }
+}
@@ -0,0 +1,144 @@
+package com.kanban.config;
+
+import com.kanban.model.Task;
+import com.kanban.model.enums.TaskPriority;
+import com.kanban.model.enums.TaskStatus;
+import com.kanban.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+public class SchemaUpgradeIntegrationTests {
+
+    @Container
+    public static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("integration-tests-db")
+            .withUsername("sa")
+            .withPassword("sa");
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    SchemaUpgrade schemaUpgrade;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @BeforeEach
+    void clearRefreshTokens() {
+        jdbcTemplate.update("delete from refresh_token");
+    }
+
+    @Test
+    void run_MovesSequencePastIdsWrittenBeforeTheSwitch() {
+        // Rows as an IDENTITY column would have left them, with a sequence
+        // that Hibernate has just created at 1.
+        for (long id = 1; id <= 120; id++)
+            jdbcTemplate.update("insert into tasks (id, version, title, status, priority) values (?, 1, ?, ?, ?)",
+                    id, "Task " + id, TaskStatus.TO_DO.name(), TaskPriority.LOW.name());
+
+        schemaUpgrade.run();
+
+        assertThat(nextValue()).isEqualTo(120 + SchemaUpgrade.ALLOCATION_SIZE);
+        Task saved = taskRepository.save(Task.builder()
+                .title("After upgrade")
+                .status(TaskStatus.TO_DO)
+                .priority(TaskPriority.LOW)
+                .build());
+        assertThat(saved.getId()).isGreaterThan(120L);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from tasks", Long.class)).isEqualTo(121L);
+    }
+
+    @Test
+    void run_LeavesSequenceThatIsAheadAlone() {
+        jdbcTemplate.queryForObject("select setval('projects_seq', 10000, true)", Long.class);
+
+        schemaUpgrade.run();
+
+        assertThat(jdbcTemplate.queryForObject("select last_value from projects_seq", Long.class))
+                .isEqualTo(10000L);
+    }
+
+    @Test
+    void run_HashesPlaintextRefreshTokensAndDropsTheColumn() {
+        jdbcTemplate.execute("alter table refresh_token add column token varchar(255)");
+        jdbcTemplate.update("insert into refresh_token (token, expiry_date, user_id) values ('plain', now(), 1)");
+        jdbcTemplate.update("insert into refresh_token (token_hash, expiry_date, user_id) values ('hash', now(), 2)");
+        jdbcTemplate.update("insert into refresh_token (expiry_date, user_id) values (now(), 3)");
+
+        schemaUpgrade.run();
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from information_schema.columns " +
+                "where table_name = 'refresh_token' and column_name = 'token'", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForList("select token_hash from refresh_token", String.class))
+                .containsExactlyInAnyOrder(sha256Hex("plain"), "hash");
+    }
+
+    @Test
+    void run_Twice_KeepsHashedRefreshTokens() {
+        jdbcTemplate.update("insert into refresh_token (token_hash, expiry_date, user_id) values ('hash', now(), 2)");
+
+        schemaUpgrade.run();
+        schemaUpgrade.run();
+
+        assertThat(jdbcTemplate.queryForList("select token_hash from refresh_token", String.class))
+                .containsExactly("hash");
+    }
+
+    @Test
+    void run_DeletesIdempotencyRecordsWithoutRequestHash() {
+        jdbcTemplate.execute("alter table idempotency_keys alter column request_hash drop not null");
+        jdbcTemplate.update("insert into idempotency_keys (idempotency_key, request_hash, response, created_at) " +
+                "values ('legacy', null, '{}', now()), ('current', 'hash', '{}', now())");
+
+        schemaUpgrade.run();
+
+        assertThat(jdbcTemplate.queryForList("select idempotency_key from idempotency_keys", String.class))
+                .containsExactly("current");
+        assertThat(jdbcTemplate.queryForObject("select is_nullable from information_schema.columns " +
+                "where table_name = 'idempotency_keys' and column_name = 'request_hash'", String.class))
+                .isEqualTo("NO");
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private long nextValue() {
+        return jdbcTemplate.queryForObject(
+                "select case when is_called then last_value + " + SchemaUpgrade.ALLOCATION_SIZE +
+                        " else last_value end from tasks_seq", Long.class);
+    }
+}
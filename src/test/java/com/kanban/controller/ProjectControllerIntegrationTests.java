@@ -1,6 +1,8 @@
 package com.kanban.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.kanban.model.dto.ProjectDTO;
+import com.kanban.model.dto.TaskDTO;
 import com.kanban.model.payload.JwtResponse;
 import com.kanban.model.payload.LoginRequest;
 import com.kanban.model.payload.RegistrationRequest;
@@ -236,6 +238,94 @@ public class ProjectControllerIntegrationTests {
         assertThat(getResponse.getBody().getName()).isEqualTo("Patched Project");
     }
 
+    @Test
+    void getBoard_groupsProjectTasksByStatus() {
+        HttpHeaders authHeaders = getAuthHeaders();
+        authHeaders.setContentType(MediaType.APPLICATION_JSON);
+
+        String projectJson = "{\"name\": \"Board Project\"}";
+        ResponseEntity<ProjectDTO> createResponse = restTemplate.postForEntity(
+                baseUrl() + "/new", new HttpEntity<>(projectJson, authHeaders), ProjectDTO.class
+        );
+        assertThat(createResponse.getBody()).isNotNull();
+        Long projectId = createResponse.getBody().getId();
+
+        String taskUrl = "http://localhost:" + port + "/api/tasks/new";
+        Long firstTaskId = restTemplate.postForEntity(taskUrl, new HttpEntity<>(
+                "{\"title\": \"First\", \"status\": \"TO_DO\", \"priority\": \"LOW\"}", authHeaders),
+                TaskDTO.class).getBody().getId();
+        Long secondTaskId = restTemplate.postForEntity(taskUrl, new HttpEntity<>(
+                "{\"title\": \"Second\", \"status\": \"TO_DO\", \"priority\": \"HIGH\"}", authHeaders),
+                TaskDTO.class).getBody().getId();
+
+        HttpHeaders patchHeaders = getAuthHeaders();
+        patchHeaders.setContentType(MediaType.valueOf("application/merge-patch+json"));
+        String patchJson = "{\"tasks\": [{\"id\": " + firstTaskId + "}, {\"id\": " + secondTaskId + "}]}";
+        ResponseEntity<ProjectDTO> patchResponse = restTemplate.exchange(
+                baseUrl() + "/patch/" + projectId, HttpMethod.PATCH, new HttpEntity<>(patchJson, patchHeaders), ProjectDTO.class
+        );
+        assertThat(patchResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<JsonNode> boardResponse = restTemplate.exchange(
+                baseUrl() + "/" + projectId + "/board?limit=1", HttpMethod.GET, new HttpEntity<>(authHeaders), JsonNode.class
+        );
+        assertThat(boardResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        JsonNode columns = boardResponse.getBody().get("columns");
+        assertThat(columns.size()).isEqualTo(3);
+        assertThat(columns.get(0).get("status").asText()).isEqualTo("TO_DO");
+        assertThat(columns.get(0).get("count").asLong()).isEqualTo(2);
+        assertThat(columns.get(0).get("tasks").size()).isEqualTo(1);
+        assertThat(columns.get(0).get("tasks").get(0).get("id").asLong()).isEqualTo(secondTaskId);
+        assertThat(columns.get(1).get("count").asLong()).isZero();
+    }
+
+    @Test
+    void getProject_SwappedTaskWithSameVersion_ChangesETag() {
+        HttpHeaders authHeaders = getAuthHeaders();
+        authHeaders.setContentType(MediaType.APPLICATION_JSON);
+
+        Long projectId = restTemplate.postForEntity(baseUrl() + "/new",
+                new HttpEntity<>("{\"name\": \"ETag Project\"}", authHeaders), ProjectDTO.class).getBody().getId();
+        String taskUrl = "http://localhost:" + port + "/api/tasks/new";
+        Long firstTaskId = restTemplate.postForEntity(taskUrl, new HttpEntity<>(
+                "{\"title\": \"First\", \"status\": \"TO_DO\", \"priority\": \"LOW\"}", authHeaders),
+                TaskDTO.class).getBody().getId();
+        Long secondTaskId = restTemplate.postForEntity(taskUrl, new HttpEntity<>(
+                "{\"title\": \"Second\", \"status\": \"TO_DO\", \"priority\": \"LOW\"}", authHeaders),
+                TaskDTO.class).getBody().getId();
+        setProjectTasks(projectId, firstTaskId);
+
+        String etag = getProject(projectId, null).getHeaders().getETag();
+        assertThat(etag).isNotNull();
+        assertThat(getProject(projectId, etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        setProjectTasks(projectId, secondTaskId);
+
+        ResponseEntity<String> changed = getProject(projectId, etag);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+        assertThat(getProject(projectId, changed.getHeaders().getETag()).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    private void setProjectTasks(Long projectId, Long taskId) {
+        HttpHeaders patchHeaders = getAuthHeaders();
+        patchHeaders.setContentType(MediaType.valueOf("application/merge-patch+json"));
+        ResponseEntity<ProjectDTO> patchResponse = restTemplate.exchange(
+                baseUrl() + "/patch/" + projectId, HttpMethod.PATCH,
+                new HttpEntity<>("{\"tasks\": [{\"id\": " + taskId + "}]}", patchHeaders), ProjectDTO.class
+        );
+        assertThat(patchResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private ResponseEntity<String> getProject(Long projectId, String ifNoneMatch) {
+        HttpHeaders headers = getAuthHeaders();
+        if (ifNoneMatch != null)
+            headers.setIfNoneMatch(ifNoneMatch);
+        return restTemplate.exchange(baseUrl() + "/get/" + projectId, HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+    }
+
     @Test
     void deleteProject() {
         HttpHeaders authHeaders = getAuthHeaders();
@@ -161,6 +161,41 @@ public class TaskControllerIntegrationTests {
         assertThat(found).isTrue();
     }
 
+    @Test
+    void getAllTasks_cursorMode_pagesWithoutOverlap() {
+        HttpHeaders authHeaders = getAuthHeaders();
+        authHeaders.setContentType(MediaType.APPLICATION_JSON);
+
+        for (int i = 0; i < 3; i++) {
+            Task task = Task.builder()
+                    .title("Cursor Test " + i)
+                    .status(TaskStatus.TO_DO)
+                    .priority(TaskPriority.LOW)
+                    .build();
+            restTemplate.postForEntity(baseUrl() + "/new", new HttpEntity<>(task, authHeaders), TaskDTO.class);
+        }
+
+        HttpEntity<Void> getRequest = new HttpEntity<>(authHeaders);
+        ResponseEntity<JsonNode> firstPage = restTemplate.exchange(
+                baseUrl() + "/getAll?size=2&cursor=", HttpMethod.GET, getRequest, JsonNode.class
+        );
+        assertThat(firstPage.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(firstPage.getBody()).isNotNull();
+        assertThat(firstPage.getBody().get("content").size()).isEqualTo(2);
+        String nextCursor = firstPage.getBody().get("nextCursor").asText();
+        assertThat(nextCursor).isNotEmpty();
+
+        ResponseEntity<JsonNode> secondPage = restTemplate.exchange(
+                baseUrl() + "/getAll?size=2&cursor=" + nextCursor, HttpMethod.GET, getRequest, JsonNode.class
+        );
+        assertThat(secondPage.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(secondPage.getBody()).isNotNull();
+        long lastIdOfFirstPage = firstPage.getBody().get("content").get(1).get("id").asLong();
+        for (JsonNode task : secondPage.getBody().get("content")) {
+            assertThat(task.get("id").asLong()).isLessThan(lastIdOfFirstPage);
+        }
+    }
+
     @Test
     void createAndGetTask() {
         HttpHeaders authHeaders = getAuthHeaders();
@@ -195,6 +230,88 @@ public class TaskControllerIntegrationTests {
         assertThat(body.get("title").asText()).isEqualTo("Integration Create Test");
     }
 
+    @Test
+    void createTask_retriedWithSameIdempotencyKey_returnsOriginalTask() {
+        HttpHeaders authHeaders = getAuthHeaders();
+        authHeaders.setContentType(MediaType.APPLICATION_JSON);
+        authHeaders.set("Idempotency-Key", "create-task-retry");
+
+        Task task = Task.builder()
+                .title("Idempotent Create Test")
+                .status(TaskStatus.TO_DO)
+                .priority(TaskPriority.LOW)
+                .build();
+        ResponseEntity<TaskDTO> first = restTemplate.postForEntity(
+                baseUrl() + "/new", new HttpEntity<>(task, authHeaders), TaskDTO.class
+        );
+        ResponseEntity<TaskDTO> retry = restTemplate.postForEntity(
+                baseUrl() + "/new", new HttpEntity<>(task, authHeaders), TaskDTO.class
+        );
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(first.getBody()).isNotNull();
+        assertThat(retry.getBody()).isNotNull();
+        assertThat(retry.getBody().getId()).isEqualTo(first.getBody().getId());
+    }
+
+    @Test
+    void createTask_sameIdempotencyKeyWithDifferentBody_returnsUnprocessableEntity() {
+        HttpHeaders authHeaders = getAuthHeaders();
+        authHeaders.setContentType(MediaType.APPLICATION_JSON);
+        authHeaders.set("Idempotency-Key", "create-task-reused");
+
+        Task task = Task.builder()
+                .title("Idempotent First Body")
+                .status(TaskStatus.TO_DO)
+                .priority(TaskPriority.LOW)
+                .build();
+        Task other = Task.builder()
+                .title("Idempotent Second Body")
+                .status(TaskStatus.TO_DO)
+                .priority(TaskPriority.LOW)
+                .build();
+        ResponseEntity<TaskDTO> first = restTemplate.postForEntity(
+                baseUrl() + "/new", new HttpEntity<>(task, authHeaders), TaskDTO.class
+        );
+        ResponseEntity<String> reused = restTemplate.postForEntity(
+                baseUrl() + "/new", new HttpEntity<>(other, authHeaders), String.class
+        );
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(reused.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void getTask_withMatchingETag_returnsNotModified() {
+        HttpHeaders authHeaders = getAuthHeaders();
+        authHeaders.setContentType(MediaType.APPLICATION_JSON);
+
+        Task task = Task.builder()
+                .title("ETag Test")
+                .status(TaskStatus.TO_DO)
+                .priority(TaskPriority.LOW)
+                .build();
+        TaskDTO created = restTemplate.postForEntity(
+                baseUrl() + "/new", new HttpEntity<>(task, authHeaders), TaskDTO.class
+        ).getBody();
+        assertThat(created).isNotNull();
+
+        ResponseEntity<JsonNode> first = restTemplate.exchange(
+                baseUrl() + "/get/" + created.getId(), HttpMethod.GET, new HttpEntity<>(authHeaders), JsonNode.class
+        );
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).isNotNull();
+
+        HttpHeaders conditionalHeaders = getAuthHeaders();
+        conditionalHeaders.setIfNoneMatch(etag);
+        ResponseEntity<JsonNode> second = restTemplate.exchange(
+                baseUrl() + "/get/" + created.getId(), HttpMethod.GET, new HttpEntity<>(conditionalHeaders), JsonNode.class
+        );
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second.getBody()).isNull();
+    }
+
     @Test
     void updateProject() {
         HttpHeaders authHeaders = getAuthHeaders();
@@ -0,0 +1,189 @@
+package com.kanban.repository;
+
+import com.kanban.model.Project;
+import com.kanban.model.Task;
+import com.kanban.model.UserInfo;
+import com.kanban.model.enums.TaskPriority;
+import com.kanban.model.enums.TaskStatus;
+import com.kanban.model.payload.TaskFilter;
+import com.kanban.model.projection.TaskSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+@Transactional
+public class TaskSpecificationsIntegrationTests {
+
+    @Container
+    public static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("integration-tests-db")
+            .withUsername("sa")
+            .withPassword("sa");
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    private static final LocalDateTime JAN_10 = LocalDateTime.of(2026, 1, 10, 12, 0);
+    private static final LocalDateTime JAN_20 = LocalDateTime.of(2026, 1, 20, 12, 0);
+    private static final LocalDateTime FEB_01 = LocalDateTime.of(2026, 2, 1, 12, 0);
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    UserInfoRepository userInfoRepository;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    private UserInfo alice;
+    private UserInfo bob;
+    private Project project;
+    private Task urgentTodo;
+    private Task lowInProgress;
+    private Task urgentDone;
+    private Task sharedTodo;
+
+    @BeforeEach
+    void setUp() {
+        alice = userInfoRepository.save(user("alice"));
+        bob = userInfoRepository.save(user("bob"));
+
+        Task first = task("Urgent todo", TaskStatus.TO_DO, TaskPriority.HIGH, JAN_10, alice);
+        first.setRank("i");
+        urgentTodo = taskRepository.save(first);
+        lowInProgress = taskRepository.save(task("Low in progress", TaskStatus.IN_PROGRESS, TaskPriority.LOW, JAN_20, bob));
+        urgentDone = taskRepository.save(task("Urgent done", TaskStatus.DONE, TaskPriority.HIGH, FEB_01));
+        sharedTodo = taskRepository.save(task("Shared todo", TaskStatus.TO_DO, TaskPriority.LOW, null, alice, bob));
+
+        project = projectRepository.save(Project.builder()
+                .name("Filtered")
+                .participants(new HashSet<>(Set.of(alice)))
+                .tasks(new HashSet<>(Set.of(urgentTodo, urgentDone)))
+                .build());
+    }
+
+    @Test
+    void findSummaries_EmptyFilter_ReturnsAllTasks() {
+        assertThat(ids(TaskFilter.builder().build()))
+                .containsExactlyInAnyOrder(urgentTodo.getId(), lowInProgress.getId(),
+                        urgentDone.getId(), sharedTodo.getId());
+    }
+
+    @Test
+    void findSummaries_ByStatus_ReturnsTasksInThoseStatuses() {
+        assertThat(ids(TaskFilter.builder().statuses(Set.of(TaskStatus.TO_DO)).build()))
+                .containsExactlyInAnyOrder(urgentTodo.getId(), sharedTodo.getId());
+        assertThat(ids(TaskFilter.builder().statuses(Set.of(TaskStatus.IN_PROGRESS, TaskStatus.DONE)).build()))
+                .containsExactlyInAnyOrder(lowInProgress.getId(), urgentDone.getId());
+    }
+
+    @Test
+    void findSummaries_ByPriority_ReturnsTasksWithThosePriorities() {
+        assertThat(ids(TaskFilter.builder().priorities(Set.of(TaskPriority.HIGH)).build()))
+                .containsExactlyInAnyOrder(urgentTodo.getId(), urgentDone.getId());
+        assertThat(ids(TaskFilter.builder().priorities(Set.of(TaskPriority.MEDIUM)).build()))
+                .isEmpty();
+    }
+
+    @Test
+    void findSummaries_ByAssignee_ReturnsEachTaskOnce() {
+        assertThat(ids(TaskFilter.builder().assigneeId(alice.getId()).build()))
+                .containsExactlyInAnyOrder(urgentTodo.getId(), sharedTodo.getId());
+        assertThat(ids(TaskFilter.builder().assigneeId(bob.getId()).build()))
+                .containsExactlyInAnyOrder(lowInProgress.getId(), sharedTodo.getId());
+    }
+
+    @Test
+    void findSummaries_ByDueRange_IncludesBoundsAndSkipsTasksWithoutDueDate() {
+        assertThat(ids(TaskFilter.builder().dueFrom(JAN_10).dueTo(JAN_20).build()))
+                .containsExactlyInAnyOrder(urgentTodo.getId(), lowInProgress.getId());
+        assertThat(ids(TaskFilter.builder().dueFrom(JAN_20).build()))
+                .containsExactlyInAnyOrder(lowInProgress.getId(), urgentDone.getId());
+        assertThat(ids(TaskFilter.builder().dueTo(JAN_10.minusSeconds(1)).build()))
+                .isEmpty();
+    }
+
+    @Test
+    void findSummaries_ByProject_ReturnsOnlyLinkedTasks() {
+        assertThat(ids(TaskFilter.builder().projectId(project.getId()).build()))
+                .containsExactlyInAnyOrder(urgentTodo.getId(), urgentDone.getId());
+    }
+
+    @Test
+    void findSummaries_CombinedCriteria_ReturnsIntersection() {
+        assertThat(ids(TaskFilter.builder()
+                .statuses(Set.of(TaskStatus.TO_DO))
+                .assigneeId(bob.getId())
+                .build()))
+                .containsExactly(sharedTodo.getId());
+        assertThat(ids(TaskFilter.builder()
+                .statuses(Set.of(TaskStatus.TO_DO))
+                .priorities(Set.of(TaskPriority.HIGH))
+                .assigneeId(alice.getId())
+                .dueFrom(JAN_10)
+                .dueTo(JAN_20)
+                .projectId(project.getId())
+                .build()))
+                .containsExactly(urgentTodo.getId());
+    }
+
+    @Test
+    void findSummaries_CarriesRank() {
+        List<TaskSummary> summaries = taskRepository.findSummaries(TaskSpecifications.matching(
+                TaskFilter.builder().priorities(Set.of(TaskPriority.HIGH)).statuses(Set.of(TaskStatus.TO_DO)).build()),
+                Pageable.unpaged());
+
+        assertThat(summaries).extracting(TaskSummary::getRank).containsExactly("i");
+    }
+
+    private List<Long> ids(TaskFilter filter) {
+        return taskRepository.findSummaries(TaskSpecifications.matching(filter), Pageable.unpaged()).stream()
+                .map(TaskSummary::getId)
+                .toList();
+    }
+
+    private static UserInfo user(String name) {
+        return UserInfo.builder()
+                .username(name)
+                .email(name + "@example.com")
+                .password("password")
+                .roles(new HashSet<>())
+                .build();
+    }
+
+    private static Task task(String title, TaskStatus status, TaskPriority priority,
+                             LocalDateTime dueAt, UserInfo... assignees) {
+        return Task.builder()
+                .title(title)
+                .status(status)
+                .priority(priority)
+                .dueAt(dueAt)
+                .taskAssignees(new HashSet<>(Set.of(assignees)))
+                .build();
+    }
+}
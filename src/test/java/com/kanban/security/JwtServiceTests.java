@@ -0,0 +1,91 @@
+package com.kanban.security;
+
+import com.kanban.model.Role;
+import com.kanban.model.UserInfo;
+import com.kanban.model.enums.EnumRole;
+import com.kanban.repository.UserInfoRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class JwtServiceTests {
+
+    private static final String SECRET =
+            "d0d2566ce3be3d3aa7b23282c90a67d7fda5a174a4f96d2351ffbdbbce0beb59e5b0431c34ecd022a0421dd91e2cbc8f";
+
+    private UserInfoRepository userInfoRepository;
+    private TokenDenylist tokenDenylist;
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        userInfoRepository = mock(UserInfoRepository.class);
+        tokenDenylist = new TokenDenylist();
+        jwtService = new JwtService(new MockEnvironment()
+                .withProperty("jwt.base64-secret", SECRET)
+                .withProperty("security.jwt.stateless", "true"),
+                userInfoRepository, tokenDenylist, new VerifiedTokenCache(new SimpleMeterRegistry(), 100));
+    }
+
+    @Test
+    void parseToken_ValidToken_ReturnsClaimsValidForItsUser() {
+        Claims claims = jwtService.parseToken(jwtService.generateToken("user@example.com"));
+
+        assertEquals("user@example.com", claims.getSubject());
+        assertTrue(jwtService.isTokenValid(claims, userWithEmail("user@example.com")));
+        assertFalse(jwtService.isTokenValid(claims, userWithEmail("other@example.com")));
+        verifyNoInteractions(userInfoRepository);
+    }
+
+    @Test
+    void parseToken_TamperedToken_Throws() {
+        String token = jwtService.generateToken("user@example.com");
+        int signature = token.lastIndexOf('.') + 1;
+        char first = token.charAt(signature);
+        String tampered = token.substring(0, signature) + (first == 'A' ? 'B' : 'A') + token.substring(signature + 1);
+
+        assertThrows(JwtException.class, () -> jwtService.parseToken(tampered));
+    }
+
+    @Test
+    void principalFromClaims_StatelessMode_RebuildsPrincipalWithoutQueries() {
+        UserInfo user = UserInfo.builder().id(7L).username("user").email("user@example.com")
+                .roles(Set.of(new Role(1L, EnumRole.ROLE_USER))).build();
+
+        Claims claims = jwtService.parseToken(jwtService.generateToken(user));
+        UserDetails principal = jwtService.principalFromClaims(claims).orElseThrow();
+
+        assertEquals("user", principal.getUsername());
+        assertEquals(7L, ((UserDetailsImplementation) principal).getId());
+        assertEquals(List.of("ROLE_USER"),
+                principal.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        assertTrue(jwtService.isTokenValid(claims, principal));
+        verifyNoInteractions(userInfoRepository);
+    }
+
+    @Test
+    void revokeToken_DeniesTokenUntilItExpires() {
+        String token = jwtService.generateToken("user@example.com");
+
+        jwtService.revokeToken(token);
+
+        assertTrue(jwtService.isRevoked(jwtService.parseToken(token)));
+        assertFalse(jwtService.isRevoked(jwtService.parseToken(jwtService.generateToken("user@example.com"))));
+    }
+
+    private UserDetailsImplementation userWithEmail(String email) {
+        return new UserDetailsImplementation(1L, "user", email, "password", List.of());
+    }
+}
@@ -0,0 +1,83 @@
+package com.kanban.security;
+
+import com.kanban.model.Role;
+import com.kanban.model.UserInfo;
+import com.kanban.model.enums.EnumRole;
+import com.kanban.repository.RoleRepository;
+import com.kanban.repository.UserInfoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+public class PrincipalCacheIntegrationTests {
+
+    @Container
+    public static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("integration-tests-db")
+            .withUsername("sa")
+            .withPassword("sa");
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    PrincipalCache principalCache;
+
+    @Autowired
+    UserInfoRepository userInfoRepository;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    void loadUserByEmail_AfterRolesChange_ReturnsNewAuthorities() {
+        Role user = roleRepository.save(Role.builder().name(EnumRole.ROLE_USER).build());
+        Role admin = roleRepository.save(Role.builder().name(EnumRole.ROLE_ADMIN).build());
+        userInfoRepository.save(UserInfo.builder()
+                .username("roles")
+                .email("roles@example.com")
+                .password("password")
+                .roles(new HashSet<>(Set.of(user)))
+                .build());
+        assertThat(authorities()).containsExactly("ROLE_USER");
+
+        transactionTemplate.executeWithoutResult(status ->
+                userInfoRepository.findByEmail("roles@example.com").orElseThrow().getRoles().add(admin));
+        assertThat(authorities()).containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+
+        transactionTemplate.executeWithoutResult(status ->
+                userInfoRepository.findByEmail("roles@example.com").orElseThrow().setRoles(new HashSet<>()));
+        assertThat(authorities()).isEmpty();
+    }
+
+    private Set<String> authorities() {
+        Set<String> names = new HashSet<>();
+        for (GrantedAuthority authority : principalCache.loadUserByEmail("roles@example.com").getAuthorities())
+            names.add(authority.getAuthority());
+        return names;
+    }
+}
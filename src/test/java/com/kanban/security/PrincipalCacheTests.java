@@ -0,0 +1,115 @@
+package com.kanban.security;
+
+import com.kanban.model.Role;
+import com.kanban.model.UserInfo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PrincipalCacheTests {
+
+    private UserDetailsServiceImplementation userDetailsService;
+    private SimpleMeterRegistry meterRegistry;
+    private PrincipalCache principalCache;
+    private final UserDetailsImplementation principal =
+            new UserDetailsImplementation(1L, "user", "user@example.com", "password", List.of());
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = mock(UserDetailsServiceImplementation.class);
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(userDetailsService, meterRegistry, Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    void loadUserByEmail_RepeatedEmail_LoadsOnce() {
+        when(userDetailsService.loadUserByEmail("user@example.com")).thenReturn(principal);
+
+        assertSame(principal, principalCache.loadUserByEmail("user@example.com"));
+        assertSame(principal, principalCache.loadUserByEmail("user@example.com"));
+
+        verify(userDetailsService, times(1)).loadUserByEmail("user@example.com");
+        assertEquals(1.0, meterRegistry.counter("kanban.auth.principal.cache", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("kanban.auth.principal.cache", "result", "miss").count());
+    }
+
+    @Test
+    void loadUserByEmail_UnknownEmail_IsNotCached() {
+        when(userDetailsService.loadUserByEmail("nobody@example.com"))
+                .thenThrow(new UsernameNotFoundException("User Not Found with email: nobody@example.com"));
+
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.loadUserByEmail("nobody@example.com"));
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.loadUserByEmail("nobody@example.com"));
+
+        verify(userDetailsService, times(2)).loadUserByEmail("nobody@example.com");
+    }
+
+    @Test
+    void invalidator_ChangedUser_EvictsItsEntry() {
+        when(userDetailsService.loadUserByEmail("user@example.com")).thenReturn(principal);
+        principalCache.loadUserByEmail("user@example.com");
+
+        invalidator().changed(UserInfo.builder().id(1L).email("renamed@example.com").build());
+        principalCache.loadUserByEmail("user@example.com");
+
+        verify(userDetailsService, times(2)).loadUserByEmail("user@example.com");
+    }
+
+    @Test
+    void invalidator_ChangedRole_ClearsCache() {
+        when(userDetailsService.loadUserByEmail("user@example.com")).thenReturn(principal);
+        principalCache.loadUserByEmail("user@example.com");
+
+        invalidator().changed(new Role());
+
+        assertEquals(0, principalCache.size());
+    }
+
+    @Test
+    void invalidator_ChangedRolesOfUser_EvictsItsEntry() {
+        when(userDetailsService.loadUserByEmail("user@example.com")).thenReturn(principal);
+        principalCache.loadUserByEmail("user@example.com");
+        PostCollectionUpdateEvent event = mock(PostCollectionUpdateEvent.class);
+        when(event.getAffectedOwnerOrNull()).thenReturn(UserInfo.builder().id(1L).build());
+
+        invalidator().collectionChanged(event);
+
+        assertEquals(0, principalCache.size());
+    }
+
+    @Test
+    void invalidator_ChangedUserInTransaction_EvictsAgainAfterCommit() {
+        when(userDetailsService.loadUserByEmail("user@example.com")).thenReturn(principal);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            invalidator().changed(UserInfo.builder().id(1L).build());
+            // A request between the flush and the commit still reads the old user.
+            principalCache.loadUserByEmail("user@example.com");
+            assertEquals(1, principalCache.size());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, principalCache.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private PrincipalCacheInvalidator invalidator() {
+        ObjectProvider<PrincipalCache> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(principalCache);
+        return new PrincipalCacheInvalidator(provider, mock(ObjectProvider.class));
+    }
+}
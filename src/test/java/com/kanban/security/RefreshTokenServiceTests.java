@@ -0,0 +1,68 @@
+package com.kanban.security;
+
+import com.kanban.model.RefreshToken;
+import com.kanban.model.UserInfo;
+import com.kanban.repository.UserInfoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTests {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private UserInfoRepository userInfoRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    @Test
+    void createRefreshToken_StoresOnlyTheHash() {
+        when(userInfoRepository.findByEmail("user@example.com"))
+                .thenReturn(Optional.of(UserInfo.builder().id(1L).email("user@example.com").build()));
+        when(refreshTokenRepository.findByUserId(1L)).thenReturn(Optional.empty());
+
+        String token = refreshTokenService.createRefreshToken("user@example.com");
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertNotEquals(token, saved.getValue().getTokenHash());
+        assertEquals(RefreshTokenService.hash(token), saved.getValue().getTokenHash());
+        assertEquals(64, saved.getValue().getTokenHash().length());
+    }
+
+    @Test
+    void findValidToken_ChecksHashAndExpiryInOneQuery() {
+        RefreshToken stored = RefreshToken.builder().id(1L).tokenHash(RefreshTokenService.hash("token")).build();
+        when(refreshTokenRepository.findByTokenHashAndExpiryDateAfter(eq(RefreshTokenService.hash("token")),
+                any(Instant.class))).thenReturn(Optional.of(stored));
+
+        assertEquals(Optional.of(stored), refreshTokenService.findValidToken("token"));
+        verifyNoMoreInteractions(refreshTokenRepository);
+    }
+
+    @Test
+    void purgeExpired_DeletesInBatchesUntilOneComesBackShort() {
+        when(refreshTokenRepository.deleteExpiredBatch(any(Instant.class), eq(RefreshTokenService.PURGE_BATCH_SIZE)))
+                .thenReturn(RefreshTokenService.PURGE_BATCH_SIZE, RefreshTokenService.PURGE_BATCH_SIZE, 3);
+
+        refreshTokenService.purgeExpired();
+
+        verify(refreshTokenRepository, times(3))
+                .deleteExpiredBatch(any(Instant.class), eq(RefreshTokenService.PURGE_BATCH_SIZE));
+    }
+}
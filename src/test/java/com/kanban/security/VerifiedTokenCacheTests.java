@@ -0,0 +1,123 @@
+package com.kanban.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifications = new AtomicInteger();
+    }
+
+    @Test
+    void get_SameToken_VerifiesOnce() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(meterRegistry, 10);
+        Function<String, Claims> verifier = verifier(60_000);
+
+        Claims first = cache.get("token", verifier);
+        Claims second = cache.get(new String("token"), verifier);
+
+        assertSame(first, second);
+        assertEquals(1, verifications.get());
+        assertEquals(1.0, meterRegistry.counter("kanban.auth.token.cache", "result", "hit").count());
+    }
+
+    @Test
+    void get_ExpiredToken_IsNotCached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(meterRegistry, 10);
+        Function<String, Claims> verifier = verifier(-1_000);
+
+        cache.get("token", verifier);
+        cache.get("token", verifier);
+
+        assertEquals(2, verifications.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_FullCache_KeepsTokenUsedSinceLastTrim() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(meterRegistry, 2);
+        Function<String, Claims> verifier = verifier(60_000);
+
+        cache.get("first", verifier);
+        cache.get("second", verifier);
+        cache.get("first", verifier);
+        cache.get("third", verifier);
+        cache.get("first", verifier);
+        cache.get("second", verifier);
+
+        assertEquals(2, cache.size());
+        assertEquals(4, verifications.get());
+    }
+
+    @Test
+    void get_ConcurrentMisses_StayBounded() throws Exception {
+        VerifiedTokenCache cache = new VerifiedTokenCache(meterRegistry, 100);
+        Function<String, Claims> verifier = verifier(60_000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        cache.get("hot", verifier);
+                        cache.get("token-" + thread + "-" + i, verifier);
+                    }
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        // A trim skipped while another was running is caught up by the
+        // next insert.
+        cache.get("last", verifier);
+        assertTrue(cache.size() <= 100, "size " + cache.size());
+        assertTrue(verifications.get() < 8 * 5_000 * 2);
+    }
+
+    @Test
+    void get_ZeroMaxEntries_CachesNothing() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(meterRegistry, 0);
+        Function<String, Claims> verifier = verifier(60_000);
+
+        cache.get("token", verifier);
+        cache.get("token", verifier);
+
+        assertEquals(0, cache.size());
+        assertEquals(2, verifications.get());
+    }
+
+    // The verifier stands in for the parser; the cache only relies on exp.
+    private Function<String, Claims> verifier(long expiresInMillis) {
+        return token -> {
+            verifications.incrementAndGet();
+            return Jwts.claims()
+                    .subject(token)
+                    .expiration(new Date(System.currentTimeMillis() + expiresInMillis))
+                    .build();
+        };
+    }
+}
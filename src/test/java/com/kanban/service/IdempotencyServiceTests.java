@@ -0,0 +1,108 @@
+package com.kanban.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyServiceTests {
+
+    private final Principal alice = () -> "alice";
+    private final Principal bob = () -> "bob";
+
+    private IdempotencyService idempotencyService;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(new InMemoryIdempotencyStore(Duration.ofMinutes(5), 100),
+                new ObjectMapper());
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void execute_SameKey_ReplaysFirstResponse() {
+        IdempotencyService.Outcome<String> first = idempotencyService.execute("tasks", alice, "k1", "body",
+                String.class, () -> "created-" + calls.incrementAndGet());
+        IdempotencyService.Outcome<String> retry = idempotencyService.execute("tasks", alice, "k1", "body",
+                String.class, () -> "created-" + calls.incrementAndGet());
+
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals("created-1", retry.response());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_KeysAreScopedByEndpointAndUser() {
+        idempotencyService.execute("tasks", alice, "k1", "body", String.class, () -> "a" + calls.incrementAndGet());
+
+        assertFalse(idempotencyService.execute("projects", alice, "k1", "body", String.class,
+                () -> "b" + calls.incrementAndGet()).replayed());
+        assertFalse(idempotencyService.execute("tasks", bob, "k1", "body", String.class,
+                () -> "c" + calls.incrementAndGet()).replayed());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void execute_SameKeyDifferentBody_ThrowsUnprocessableEntity() {
+        idempotencyService.execute("tasks", alice, "k1", "body", String.class,
+                () -> "created-" + calls.incrementAndGet());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> idempotencyService.execute("tasks", alice, "k1", "other body", String.class,
+                        () -> "created-" + calls.incrementAndGet()));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatusCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_FailedRequest_IsNotStored() {
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute("tasks", alice, "k1", "body",
+                String.class, () -> { throw new IllegalStateException("boom"); }));
+
+        IdempotencyService.Outcome<String> retry = idempotencyService.execute("tasks", alice, "k1", "body",
+                String.class, () -> "created");
+
+        assertFalse(retry.replayed());
+        assertEquals("created", retry.response());
+    }
+
+    @Test
+    void execute_RetryWhileFirstIsRunning_ThrowsConflict() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> idempotencyService.execute("tasks", alice, "k1", "body", String.class,
+                        () -> idempotencyService.execute("tasks", alice, "k1", "body", String.class, () -> "inner")
+                                .response()));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+    }
+
+    @Test
+    void execute_ExpiredEntry_RunsAgain() {
+        idempotencyService = new IdempotencyService(new InMemoryIdempotencyStore(Duration.ZERO, 100), new ObjectMapper());
+        idempotencyService.execute("tasks", alice, "k1", "body", String.class, () -> "a" + calls.incrementAndGet());
+
+        assertFalse(idempotencyService.execute("tasks", alice, "k1", "body", String.class,
+                () -> "b" + calls.incrementAndGet()).replayed());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_OverlongKey_ThrowsBadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> idempotencyService.execute("tasks", alice,
+                        "k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1), "body",
+                        String.class, () -> "created"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+}
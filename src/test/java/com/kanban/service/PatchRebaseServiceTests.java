@@ -0,0 +1,111 @@
+package com.kanban.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kanban.model.Task;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatchRebaseServiceTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private SimpleMeterRegistry meterRegistry;
+    private PatchRebaseService patchRebaseService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        patchRebaseService = new PatchRebaseService(meterRegistry);
+    }
+
+    @Test
+    void canRebase_DisjointConcurrentChanges_ReturnsTrue() throws Exception {
+        patchRebaseService.recordAfterCommit(Task.class, 1L, 1L, () -> 2L, json("{\"version\": 1, \"status\": \"DONE\"}"));
+        patchRebaseService.recordAfterCommit(Task.class, 1L, 2L, () -> 3L, json("{\"priority\": \"HIGH\"}"));
+
+        assertTrue(patchRebaseService.canRebase(Task.class, 1L, json("{\"version\": 1, \"title\": \"New\"}"), 3L));
+        assertEquals(1.0, meterRegistry.counter("kanban.patch.conflicts", "entity", "Task").count());
+        assertEquals(1.0, meterRegistry.counter("kanban.patch.rebases",
+                "entity", "Task", "outcome", "applied").count());
+    }
+
+    @Test
+    void canRebase_OverlappingChange_ReturnsFalse() throws Exception {
+        patchRebaseService.recordAfterCommit(Task.class, 1L, 1L, () -> 2L, json("{\"title\": \"Theirs\"}"));
+
+        assertFalse(patchRebaseService.canRebase(Task.class, 1L, json("{\"version\": 1, \"title\": \"Mine\"}"), 2L));
+        assertEquals(1.0, meterRegistry.counter("kanban.patch.rebases",
+                "entity", "Task", "outcome", "rejected").count());
+    }
+
+    @Test
+    void canRebase_UnknownCommitInBetween_ReturnsFalse() throws Exception {
+        patchRebaseService.recordAfterCommit(Task.class, 1L, 2L, () -> 3L, json("{\"status\": \"DONE\"}"));
+
+        assertFalse(patchRebaseService.canRebase(Task.class, 1L, json("{\"version\": 1, \"title\": \"Mine\"}"), 3L));
+    }
+
+    @Test
+    void canRebase_CurrentVersion_NothingToRebase() throws Exception {
+        assertFalse(patchRebaseService.canRebase(Task.class, 1L, json("{\"version\": 3, \"title\": \"Mine\"}"), 3L));
+        assertEquals(0.0, meterRegistry.counter("kanban.patch.conflicts", "entity", "Task").count());
+    }
+
+    @Test
+    void withRetries_LostRace_RetriesUntilItCommits() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = patchRebaseService.withRetries(Task.class, () -> {
+            if (attempts.incrementAndGet() < 2)
+                throw new ObjectOptimisticLockingFailureException(Task.class, 1L);
+            return "saved";
+        });
+
+        assertEquals("saved", result);
+        assertEquals(2, attempts.get());
+        assertEquals(1.0, meterRegistry.counter("kanban.patch.conflicts", "entity", "Task").count());
+    }
+
+    @Test
+    void withRetries_RetryFindsStaleVersion_CountsConflictOnce() throws Exception {
+        patchRebaseService.recordAfterCommit(Task.class, 1L, 1L, () -> 2L, json("{\"status\": \"DONE\"}"));
+        JsonNode patch = json("{\"version\": 1, \"title\": \"Mine\"}");
+        AtomicInteger attempts = new AtomicInteger();
+
+        boolean rebased = patchRebaseService.withRetries(Task.class, () -> {
+            if (attempts.incrementAndGet() < 2)
+                throw new ObjectOptimisticLockingFailureException(Task.class, 1L);
+            return patchRebaseService.canRebase(Task.class, 1L, patch, 2L);
+        });
+
+        assertTrue(rebased);
+        assertEquals(1.0, meterRegistry.counter("kanban.patch.conflicts", "entity", "Task").count());
+    }
+
+    @Test
+    void withRetries_AlwaysLosing_GivesUpWithConflict() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> patchRebaseService.withRetries(Task.class, () -> {
+                    attempts.incrementAndGet();
+                    throw new ObjectOptimisticLockingFailureException(Task.class, 1L);
+                }));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        assertEquals(PatchRebaseService.MAX_ATTEMPTS, attempts.get());
+    }
+
+    private JsonNode json(String content) throws Exception {
+        return objectMapper.readTree(content);
+    }
+}
@@ -1,27 +1,40 @@
 package com.kanban.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.kanban.mapper.ProjectMapper;
+import com.kanban.mapper.TaskMapper;
 import com.kanban.model.Project;
 import com.kanban.model.Task;
 import com.kanban.model.UserInfo;
+import com.kanban.model.dto.BoardColumnDTO;
+import com.kanban.model.dto.BoardDTO;
 import com.kanban.model.dto.ProjectDTO;
+import com.kanban.model.dto.TaskDTO;
 import com.kanban.model.enums.TaskPriority;
 import com.kanban.model.enums.TaskStatus;
+import com.kanban.model.projection.BoardTaskRow;
 import com.kanban.repository.ProjectRepository;
 import com.kanban.repository.TaskRepository;
 import com.kanban.repository.UserInfoRepository;
-import com.kanban.util.BeanUtilsWrapper;
+import com.kanban.util.MergePatchApplier;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.server.ResponseStatusException;
@@ -30,7 +43,9 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -52,20 +67,37 @@ public class ProjectServiceTests {
     private ProjectMapper projectMapper;
 
     @Mock
-    private BeanUtilsWrapper beanUtilsWrapper;
+    private TaskMapper taskMapper;
+
+    @Spy
+    private MergePatchApplier mergePatchApplier = new MergePatchApplier(new ObjectMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Mock
+    private ProjectStatsService projectStatsService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PatchRebaseService patchRebaseService;
+
+    @Mock
+    private TaskRankService taskRankService;
 
     @InjectMocks
     private ProjectService projectService;
 
     private Project project;
     private ProjectDTO projectDTO;
-    private Project patchedProject;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JsonNode patch;
     private UserInfo userInfo;
     private Task task;
     private Pageable pageable;
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws Exception {
         project = Project.builder()
                 .id(1L)
                 .version(1L)
@@ -81,18 +113,10 @@ public class ProjectServiceTests {
                 .taskIds(new ArrayList<>())
                 .build();
 
-        patchedProject = Project.builder()
-                .name("Patched Project")
-                .version(1L)
-                .participants(new HashSet<>())
-                .tasks(new HashSet<>())
-                .build();
-
         userInfo = UserInfo.builder()
                 .id(2L)
                 .username("test_user")
                 .build();
-        patchedProject.getParticipants().add(userInfo);
 
         task = Task.builder()
                 .id(1L)
@@ -103,7 +127,9 @@ public class ProjectServiceTests {
                 .dueAt(LocalDateTime.now().plusDays(7))
                 .taskAssignees(new HashSet<>())
                 .build();
-        patchedProject.getTasks().add(task);
+        patch = objectMapper.readTree("""
+                {"name": "Patched Project", "version": 1, "participants": [{"id": 2}], "tasks": [1]}
+                """);
 
         pageable = PageRequest.of(0, 10);
     }
@@ -136,6 +162,47 @@ public class ProjectServiceTests {
         assertEquals(project, result.get());
     }
 
+    @Test
+    void getBoard_GroupsRowsIntoStatusColumns() {
+        BoardTaskRow todoRow = boardRow(1L, TaskStatus.TO_DO, 3L);
+        BoardTaskRow doneRow = boardRow(2L, TaskStatus.DONE, 1L);
+        TaskDTO todoDTO = TaskDTO.builder().id(1L).build();
+        TaskDTO doneDTO = TaskDTO.builder().id(2L).build();
+        when(projectRepository.findBoardRows(1L, 1)).thenReturn(List.of(doneRow, todoRow));
+        when(taskMapper.boardRowToDTO(todoRow)).thenReturn(todoDTO);
+        when(taskMapper.boardRowToDTO(doneRow)).thenReturn(doneDTO);
+
+        BoardDTO board = projectService.getBoard(1L, 1);
+
+        assertEquals(1L, board.getProjectId());
+        assertEquals(List.of(TaskStatus.TO_DO.name(), TaskStatus.IN_PROGRESS.name(), TaskStatus.DONE.name()),
+                board.getColumns().stream().map(BoardColumnDTO::getStatus).toList());
+        assertEquals(3L, board.getColumns().get(0).getCount());
+        assertEquals(List.of(todoDTO), board.getColumns().get(0).getTasks());
+        assertEquals(0L, board.getColumns().get(1).getCount());
+        assertTrue(board.getColumns().get(1).getTasks().isEmpty());
+        assertEquals(List.of(doneDTO), board.getColumns().get(2).getTasks());
+        verify(projectRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getBoard_UnknownProject_ThrowsNotFound() {
+        when(projectRepository.findBoardRows(1L, 50)).thenReturn(List.of());
+        when(projectRepository.existsById(1L)).thenReturn(false);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> projectService.getBoard(1L, 50));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    void getBoard_NonPositiveLimit_ThrowsBadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> projectService.getBoard(1L, 0));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(projectRepository);
+    }
+
     @Test
     void saveNewProject_Success() {
         project.setVersion(null);
@@ -198,7 +265,7 @@ public class ProjectServiceTests {
     void savePatchedProject_NonExistingId_ThrowsNotFound() {
         when(projectRepository.findById(1L)).thenReturn(Optional.empty());
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                () -> projectService.savePatchedProject(1L, patchedProject));
+                () -> projectService.savePatchedProject(1L, patch));
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
         assertEquals("Project not found", exception.getReason());
     }
@@ -206,67 +273,116 @@ public class ProjectServiceTests {
     @Test
     void savePatchedProject_NonExistingTask_ThrowsNotFound() {
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
-        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+        when(taskRepository.findExistingIds(Set.of(1L))).thenReturn(List.of());
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                () -> projectService.savePatchedProject(1L, patchedProject));
+                () -> projectService.savePatchedProject(1L, patch));
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
-        assertEquals("Task not found", exception.getReason());
+        assertEquals("Tasks not found: [1]", exception.getReason());
+        verify(projectRepository, never()).linkTasks(any(), any());
     }
 
     @Test
     void savePatchedProject_NonExistingUser_ThrowsNotFound() {
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(userInfoRepository.findById(2L)).thenReturn(Optional.empty());
+        when(taskRepository.findExistingIds(Set.of(1L))).thenReturn(List.of(1L));
+        when(userInfoRepository.findExistingIds(Set.of(2L))).thenReturn(List.of());
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                () -> projectService.savePatchedProject(1L, patchedProject));
+                () -> projectService.savePatchedProject(1L, patch));
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
-        assertEquals("User not found", exception.getReason());
+        assertEquals("Users not found: [2]", exception.getReason());
     }
 
     @Test
     void savePatchedProject_ThrowsOptimisticLockException() {
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(userInfoRepository.findById(2L)).thenReturn(Optional.of(userInfo));
+        when(taskRepository.findExistingIds(Set.of(1L))).thenReturn(List.of(1L));
+        when(userInfoRepository.findExistingIds(Set.of(2L))).thenReturn(List.of(2L));
         when(projectRepository.save(project)).thenThrow(new ObjectOptimisticLockingFailureException(Project.class, 1L));
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                () -> projectService.savePatchedProject(1L, patchedProject));
+                () -> projectService.savePatchedProject(1L, patch));
         assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
         assertEquals("Project was updated concurrently", exception.getReason());
         verify(projectRepository).save(project);
     }
 
     @Test
-    void savePatchedProject_NoVersionInRequest_ThrowsBadRequest() {
-        patchedProject.setVersion(null);
+    void savePatchedProject_NullVersionInRequest_ThrowsBadRequest() throws Exception {
+        patch = objectMapper.readTree("{\"version\": null}");
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
-            projectService.savePatchedProject(1L, patchedProject);
+            projectService.savePatchedProject(1L, patch);
         });
 
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
-        verify(projectRepository, never()).existsById(1L);
+        verify(projectRepository, never()).save(any(Project.class));
+    }
+
+    @Test
+    void savePatchedProject_StaleVersion_ThrowsConflict() throws Exception {
+        patch = objectMapper.readTree("{\"version\": 0, \"name\": \"Stale\"}");
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> projectService.savePatchedProject(1L, patch));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        assertEquals("Test Project", project.getName());
         verify(projectRepository, never()).save(any(Project.class));
     }
 
     @Test
     void savePatchedProject_Success() {
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(userInfoRepository.findById(2L)).thenReturn(Optional.of(userInfo));
-        doNothing().when(beanUtilsWrapper).copyProperties(patchedProject, project,
-                "id", "version", "tasks", "participants");
+        when(projectRepository.findTaskIds(1L)).thenReturn(List.of(5L));
+        when(projectRepository.findParticipantIds(1L)).thenReturn(List.of(2L));
+        when(taskRepository.findExistingIds(Set.of(1L))).thenReturn(List.of(1L));
+        when(userInfoRepository.findExistingIds(Set.of(2L))).thenReturn(List.of(2L));
         when(projectRepository.save(project)).thenReturn(project);
-        when(projectMapper.projectToDTO(project)).thenReturn(projectDTO);
-        ProjectDTO result = projectService.savePatchedProject(1L, patchedProject);
+        when(projectMapper.projectToDTO(project, List.of(2L), List.of(1L))).thenReturn(projectDTO);
+        ProjectDTO result = projectService.savePatchedProject(1L, patch);
         assertEquals(projectDTO, result);
-        assertTrue(project.getTasks().contains(task));
-        assertTrue(project.getParticipants().contains(userInfo));
-        verify(beanUtilsWrapper).copyProperties(patchedProject, project,
-                "id", "version", "tasks", "participants");
+        assertEquals("Patched Project", project.getName());
+        assertEquals(1L, project.getId());
+        InOrder inOrder = inOrder(projectStatsService, projectRepository, taskRankService);
+        inOrder.verify(projectStatsService).tasksRemoved(List.of(5L));
+        inOrder.verify(projectRepository).unlinkTasks(1L, List.of(5L));
+        inOrder.verify(taskRankService).rankOnTop(1L, List.of(1L));
+        inOrder.verify(projectRepository).linkTasks(1L, new Long[]{1L});
+        inOrder.verify(projectStatsService).tasksAdded(List.of(1L));
+        verify(projectRepository, never()).linkParticipants(any(), any());
+        verify(projectRepository, never()).unlinkParticipants(any(), any());
+        verify(entityManager).lock(project, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
         verify(projectRepository).save(project);
-        verify(projectMapper).projectToDTO(project);
+    }
+
+    @Test
+    void savePatchedProject_NameOnly_LeavesJoinRowsAlone() throws Exception {
+        patch = objectMapper.readTree("{\"version\": 1, \"name\": \"Renamed\"}");
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(projectRepository.findTaskIds(1L)).thenReturn(List.of(5L));
+        when(projectRepository.findParticipantIds(1L)).thenReturn(List.of(2L));
+        when(projectRepository.save(project)).thenReturn(project);
+        when(projectMapper.projectToDTO(project, List.of(2L), List.of(5L))).thenReturn(projectDTO);
+
+        assertEquals(projectDTO, projectService.savePatchedProject(1L, patch));
+
+        assertEquals("Renamed", project.getName());
+        verify(projectRepository, never()).linkTasks(any(), any());
+        verify(projectRepository, never()).unlinkTasks(any(), any());
+        verifyNoInteractions(projectStatsService, entityManager);
+    }
+
+    @Test
+    void savePatchedProject_BlankName_ThrowsBadRequest() throws Exception {
+        patch = objectMapper.readTree("{\"version\": 1, \"name\": \" \"}");
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> projectService.savePatchedProject(1L, patch));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(projectRepository, never()).save(any(Project.class));
     }
 
     @Test
@@ -284,6 +400,13 @@ public class ProjectServiceTests {
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
     }
 
-
+    private BoardTaskRow boardRow(Long id, TaskStatus status, Long columnCount) {
+        return new SpelAwareProxyProjectionFactory().createProjection(BoardTaskRow.class, Map.of(
+                "id", id,
+                "title", "Task " + id,
+                "status", status.name(),
+                "priority", TaskPriority.MEDIUM.name(),
+                "columnCount", columnCount));
+    }
 
 }
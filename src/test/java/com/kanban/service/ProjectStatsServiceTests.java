@@ -0,0 +1,95 @@
+package com.kanban.service;
+
+
+import com.kanban.model.ProjectTaskCounter;
+import com.kanban.model.dto.ProjectStatsDTO;
+import com.kanban.model.enums.TaskPriority;
+import com.kanban.model.enums.TaskStatus;
+import com.kanban.repository.ProjectRepository;
+import com.kanban.repository.ProjectTaskCounterRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectStatsServiceTests {
+
+    @Mock
+    private ProjectTaskCounterRepository counterRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @InjectMocks
+    private ProjectStatsService projectStatsService;
+
+    private ProjectTaskCounter counter(TaskStatus status, TaskPriority priority, long count) {
+        return ProjectTaskCounter.builder()
+                .id(new ProjectTaskCounter.Key(1L, status, priority))
+                .taskCount(count)
+                .build();
+    }
+
+    @Test
+    void getStats_FoldsCountersIntoTotals() {
+        when(counterRepository.findByIdProjectId(1L)).thenReturn(List.of(
+                counter(TaskStatus.IN_PROGRESS, TaskPriority.HIGH, 2),
+                counter(TaskStatus.IN_PROGRESS, TaskPriority.LOW, 1),
+                counter(TaskStatus.DONE, TaskPriority.HIGH, 4)));
+
+        ProjectStatsDTO stats = projectStatsService.getStats(1L);
+
+        assertEquals(7, stats.getTotal());
+        assertEquals(Map.of("TO_DO", 0L, "IN_PROGRESS", 3L, "DONE", 4L), stats.getByStatus());
+        assertEquals(Map.of("LOW", 1L, "MEDIUM", 0L, "HIGH", 6L), stats.getByPriority());
+        assertEquals(2L, stats.getByStatusAndPriority().get("IN_PROGRESS").get("HIGH"));
+        verifyNoInteractions(projectRepository);
+    }
+
+    @Test
+    void getStats_UnknownProject_ThrowsNotFound() {
+        when(counterRepository.findByIdProjectId(9L)).thenReturn(List.of());
+        when(projectRepository.existsById(9L)).thenReturn(false);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> projectStatsService.getStats(9L));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    void taskChanged_MovesCountInFixedRowOrder() {
+        when(projectRepository.findProjectIdByTaskId(5L)).thenReturn(Optional.of(1L));
+
+        projectStatsService.taskChanged(5L,
+                TaskStatus.DONE, TaskPriority.LOW, TaskStatus.TO_DO, TaskPriority.HIGH);
+
+        InOrder inOrder = inOrder(counterRepository);
+        inOrder.verify(counterRepository).addToCount(1L, "TO_DO", "HIGH", 1);
+        inOrder.verify(counterRepository).addToCount(1L, "DONE", "LOW", -1);
+    }
+
+    @Test
+    void taskChanged_UnchangedOrUnassignedTask_DoesNothing() {
+        when(projectRepository.findProjectIdByTaskId(5L)).thenReturn(Optional.empty());
+
+        projectStatsService.taskChanged(5L,
+                TaskStatus.TO_DO, TaskPriority.LOW, TaskStatus.TO_DO, TaskPriority.LOW);
+        projectStatsService.taskChanged(5L,
+                TaskStatus.TO_DO, TaskPriority.LOW, TaskStatus.DONE, TaskPriority.LOW);
+
+        verify(projectRepository, times(1)).findProjectIdByTaskId(5L);
+        verifyNoInteractions(counterRepository);
+    }
+}
@@ -0,0 +1,116 @@
+package com.kanban.service;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.kanban.mapper.TaskMapper;
+import com.kanban.model.Task;
+import com.kanban.model.enums.TaskExportFormat;
+import com.kanban.model.enums.TaskPriority;
+import com.kanban.model.enums.TaskStatus;
+import com.kanban.model.projection.TaskAssigneeId;
+import com.kanban.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskExportServiceTests {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private TaskMapper taskMapper = new TaskMapper();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @InjectMocks
+    private TaskExportService taskExportService;
+
+    private Task first;
+    private Task second;
+
+    @BeforeEach
+    void setUp() {
+        first = Task.builder()
+                .id(1L)
+                .title("Plain")
+                .status(TaskStatus.TO_DO)
+                .priority(TaskPriority.LOW)
+                .build();
+        second = Task.builder()
+                .id(2L)
+                .title("Needs, \"quoting\"")
+                .description("line\nbreak")
+                .status(TaskStatus.DONE)
+                .priority(TaskPriority.HIGH)
+                .build();
+    }
+
+    private void stubTasks() {
+        TaskAssigneeId assignee = new SpelAwareProxyProjectionFactory()
+                .createProjection(TaskAssigneeId.class, Map.of("taskId", 1L, "userId", 7L));
+        when(taskRepository.streamAllForExport()).thenReturn(Stream.of(first, second));
+        when(taskRepository.findAssigneeIds(List.of(1L, 2L))).thenReturn(List.of(assignee));
+    }
+
+    @Test
+    void export_ndjson_writesOneObjectPerLineAndDetaches() throws Exception {
+        stubTasks();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        taskExportService.export(TaskExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(7L, objectMapper.readTree(lines[0]).get("assigneeIds").get(0).asLong());
+        assertEquals("Needs, \"quoting\"", objectMapper.readTree(lines[1]).get("title").asText());
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void export_csv_quotesFieldsThatNeedIt() throws Exception {
+        stubTasks();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        taskExportService.export(TaskExportFormat.CSV, out);
+
+        assertEquals("""
+                id,title,description,status,priority,dueAt,assigneeIds
+                1,Plain,,TO_DO,LOW,,7
+                2,"Needs, ""quoting\"\"\","line
+                break",DONE,HIGH,,
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void parseFormat_unknown_throwsBadRequest() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> taskExportService.parseFormat("xml"));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        assertEquals(TaskExportFormat.CSV, taskExportService.parseFormat("csv"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.kanban.service;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.kanban.model.Task;
+import com.kanban.model.UserInfo;
+import com.kanban.model.dto.TaskImportResult;
+import com.kanban.model.enums.TaskPriority;
+import com.kanban.model.enums.TaskStatus;
+import com.kanban.repository.ProjectRepository;
+import com.kanban.repository.UserInfoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskImportServiceTests {
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private UserInfoRepository userInfoRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private ProjectStatsService projectStatsService;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @InjectMocks
+    private TaskImportService taskImportService;
+
+    private final AtomicLong ids = new AtomicLong(100);
+
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(invocation -> {
+            invocation.getArgument(0, Task.class).setId(ids.incrementAndGet());
+            return null;
+        }).when(entityManager).persist(any(Task.class));
+    }
+
+    private TaskImportResult run(String ndjson) throws Exception {
+        return taskImportService.importTasks(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void importTasks_PersistsValidRecordsAndLinksProjects() throws Exception {
+        when(userInfoRepository.findExistingIds(Set.of(2L, 3L))).thenReturn(List.of(2L, 3L));
+        when(projectRepository.findExistingIds(Set.of(9L))).thenReturn(List.of(9L));
+
+        TaskImportResult result = run("""
+                {"title":"First","status":"TO_DO","priority":"LOW","assigneeIds":[2,3,2],"projectId":9}
+
+                {"title":"Second","status":"DONE","priority":"HIGH","dueAt":"2025-01-01T10:00:00"}
+                """);
+
+        assertEquals(2, result.getImported());
+        assertEquals(0, result.getRejected());
+        ArgumentCaptor<Task> persisted = ArgumentCaptor.forClass(Task.class);
+        verify(entityManager, times(2)).persist(persisted.capture());
+        assertEquals(1L, persisted.getAllValues().getFirst().getVersion());
+        verify(entityManager).flush();
+        verify(entityManager).clear();
+        verify(jdbcTemplate).batchUpdate(eq("insert into project_tasks (project_id, task_id) values (?, ?)"),
+                argThat((List<Object[]> links) -> links.size() == 1 && links.getFirst()[0].equals(9L)
+                        && links.getFirst()[1].equals(101L)));
+        verify(jdbcTemplate).batchUpdate(eq("insert into task_assignees (task_id, user_id) values (?, ?)"),
+                argThat((List<Object[]> links) -> links.size() == 2
+                        && links.get(0)[0].equals(101L) && links.get(0)[1].equals(2L)
+                        && links.get(1)[0].equals(101L) && links.get(1)[1].equals(3L)));
+        verify(entityManager, never()).getReference(eq(UserInfo.class), any());
+        verify(projectStatsService).tasksAdded(9L, TaskStatus.TO_DO, TaskPriority.LOW, 1L);
+        verify(taskSearchIndex).indexAll(persisted.getAllValues());
+    }
+
+    @Test
+    void importTasks_ReportsInvalidRecordsByLine() throws Exception {
+        when(userInfoRepository.findExistingIds(Set.of(5L))).thenReturn(List.of());
+
+        TaskImportResult result = run("""
+                {"title":"Valid","status":"TO_DO","priority":"LOW"}
+                {"title":
+                {"title":"","status":"TO_DO","priority":"LOW"}
+                {"title":"Bad enum","status":"LATER","priority":"LOW"}
+                {"title":"Ghost assignee","status":"TO_DO","priority":"LOW","assigneeIds":[5]}
+                """);
+
+        assertEquals(1, result.getImported());
+        assertEquals(4, result.getRejected());
+        assertEquals(List.of(2L, 3L, 4L, 5L),
+                result.getErrors().stream().map(TaskImportResult.LineError::getLine).toList());
+        assertEquals("title must not be blank", result.getErrors().get(1).getMessage());
+        assertEquals("Unknown assignee id 5", result.getErrors().get(3).getMessage());
+        verify(entityManager, times(1)).persist(any(Task.class));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verifyNoInteractions(projectStatsService);
+    }
+
+    @Test
+    void importTasks_FlushesOncePerChunk() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < TaskImportService.CHUNK_SIZE + 1; i++)
+            ndjson.append("{\"title\":\"Task ").append(i).append("\",\"status\":\"TO_DO\",\"priority\":\"LOW\"}\n");
+
+        TaskImportResult result = run(ndjson.toString());
+
+        assertEquals(TaskImportService.CHUNK_SIZE + 1, result.getImported());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verifyNoInteractions(userInfoRepository, projectRepository);
+    }
+}
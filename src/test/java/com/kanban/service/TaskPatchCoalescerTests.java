@@ -0,0 +1,172 @@
+package com.kanban.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kanban.model.dto.TaskDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TaskPatchCoalescerTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TaskService taskService;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskPatchCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        taskService = mock(TaskService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new TaskPatchCoalescer(taskService, meterRegistry, Duration.ofMillis(200));
+    }
+
+    @Test
+    void submit_PatchesWithinWindow_AreWrittenOnce() throws Exception {
+        TaskDTO saved = TaskDTO.builder().id(1L).title("b").description("final").version(4L).build();
+        when(taskService.savePatchedTask(1L, json("{\"version\": 3, \"title\": \"b\", \"description\": \"final\"}")))
+                .thenReturn(saved);
+
+        TaskPatchCoalescer.Submission first = coalescer.submit(1L, json("{\"version\": 3, \"title\": \"a\", \"description\": \"draft\"}"));
+        TaskPatchCoalescer.Submission second = coalescer.submit(1L, json("{\"version\": 3, \"title\": \"b\", \"description\": \"final\"}"));
+        lead(first, second);
+
+        assertEquals(new TaskPatchCoalescer.Result(saved, true), first.result().join());
+        assertEquals(new TaskPatchCoalescer.Result(saved, false), second.result().join());
+        verify(taskService, times(1)).savePatchedTask(eq(1L), any(JsonNode.class));
+        assertEquals(1.0, meterRegistry.counter("kanban.patch.coalesced").count());
+    }
+
+    @Test
+    void submit_DifferentVersion_WritesPendingBatchFirst() throws Exception {
+        TaskDTO afterFirst = TaskDTO.builder().id(1L).version(4L).build();
+        TaskDTO afterSecond = TaskDTO.builder().id(1L).version(5L).build();
+        when(taskService.savePatchedTask(1L, json("{\"version\": 3, \"title\": \"a\"}"))).thenReturn(afterFirst);
+        when(taskService.savePatchedTask(1L, json("{\"version\": 4, \"title\": \"b\"}"))).thenReturn(afterSecond);
+
+        TaskPatchCoalescer.Submission first = coalescer.submit(1L, json("{\"version\": 3, \"title\": \"a\"}"));
+        TaskPatchCoalescer.Submission second = coalescer.submit(1L, json("{\"version\": 4, \"title\": \"b\"}"));
+        lead(first, second);
+
+        assertEquals(afterFirst, first.result().join().task());
+        assertEquals(afterSecond, second.result().join().task());
+        assertTrue(second.result().join().broadcast());
+    }
+
+    @Test
+    void submit_InvalidMergedPatch_WritesPatchesOneByOne() throws Exception {
+        TaskDTO saved = TaskDTO.builder().id(1L).version(2L).build();
+        when(taskService.savePatchedTask(eq(1L), any(JsonNode.class))).thenAnswer(invocation -> {
+            JsonNode patch = invocation.getArgument(1);
+            if (patch.has("status"))
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid value for status");
+            return saved;
+        });
+
+        TaskPatchCoalescer.Submission valid = coalescer.submit(1L, json("{\"title\": \"a\"}"));
+        TaskPatchCoalescer.Submission invalid = coalescer.submit(1L, json("{\"status\": \"NOPE\"}"));
+        lead(valid, invalid);
+
+        assertEquals(saved, valid.result().join().task());
+        CompletionException exception = assertThrows(CompletionException.class, invalid.result()::join);
+        assertEquals(HttpStatus.BAD_REQUEST, ((ResponseStatusException) exception.getCause()).getStatusCode());
+        verify(taskService, times(3)).savePatchedTask(eq(1L), any(JsonNode.class));
+    }
+
+    @Test
+    void submit_ValidThenInvalidWithVersion_ReportsTheRealError() throws Exception {
+        TaskDTO saved = TaskDTO.builder().id(1L).version(4L).build();
+        when(taskService.savePatchedTask(eq(1L), any(JsonNode.class))).thenAnswer(invocation -> {
+            JsonNode patch = invocation.getArgument(1);
+            if (patch.has("status"))
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid value for status");
+            if (patch.has("version") && patch.get("version").asLong() != 3)
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Task was updated concurrently");
+            return saved;
+        });
+
+        TaskPatchCoalescer.Submission valid = coalescer.submit(1L, json("{\"version\": 3, \"title\": \"a\"}"));
+        TaskPatchCoalescer.Submission invalid = coalescer.submit(1L, json("{\"version\": 3, \"status\": \"NOPE\"}"));
+        lead(valid, invalid);
+
+        assertEquals(new TaskPatchCoalescer.Result(saved, true), valid.result().join());
+        CompletionException exception = assertThrows(CompletionException.class, invalid.result()::join);
+        assertEquals(HttpStatus.BAD_REQUEST, ((ResponseStatusException) exception.getCause()).getStatusCode());
+        verify(taskService).savePatchedTask(1L, json("{\"status\": \"NOPE\"}"));
+    }
+
+    @Test
+    void submit_InvalidMergedPatch_ReplaysLaterPatchesWithoutVersionAndBroadcastsOnce() throws Exception {
+        TaskDTO afterFirst = TaskDTO.builder().id(1L).title("a").version(4L).build();
+        TaskDTO afterThird = TaskDTO.builder().id(1L).title("c").version(5L).build();
+        doThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid value for status"))
+                .when(taskService).savePatchedTask(eq(1L), any(JsonNode.class));
+        doReturn(afterFirst).when(taskService).savePatchedTask(1L, json("{\"version\": 3, \"title\": \"a\"}"));
+        doReturn(afterThird).when(taskService).savePatchedTask(1L, json("{\"title\": \"c\"}"));
+
+        TaskPatchCoalescer.Submission first = coalescer.submit(1L, json("{\"version\": 3, \"title\": \"a\"}"));
+        TaskPatchCoalescer.Submission second = coalescer.submit(1L, json("{\"version\": 3, \"status\": \"NOPE\"}"));
+        TaskPatchCoalescer.Submission third = coalescer.submit(1L, json("{\"version\": 3, \"title\": \"c\"}"));
+        lead(first, second, third);
+
+        assertEquals(new TaskPatchCoalescer.Result(afterFirst, false), first.result().join());
+        assertThrows(CompletionException.class, second.result()::join);
+        assertEquals(new TaskPatchCoalescer.Result(afterThird, true), third.result().join());
+    }
+
+    @Test
+    void savePatchedTask_WritesOnTheCallersThreadAfterTheWindow() throws Exception {
+        TaskDTO saved = TaskDTO.builder().id(1L).version(4L).build();
+        Thread[] writer = new Thread[1];
+        when(taskService.savePatchedTask(1L, json("{\"title\": \"a\"}"))).thenAnswer(invocation -> {
+            writer[0] = Thread.currentThread();
+            return saved;
+        });
+
+        long start = System.nanoTime();
+        TaskPatchCoalescer.Result result = coalescer.savePatchedTask(1L, json("{\"title\": \"a\"}"));
+
+        assertEquals(new TaskPatchCoalescer.Result(saved, true), result);
+        assertSame(Thread.currentThread(), writer[0]);
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(200).toNanos());
+    }
+
+    @Test
+    void submit_JoiningPatch_DoesNotLead() throws Exception {
+        TaskPatchCoalescer.Submission first = coalescer.submit(1L, json("{\"title\": \"a\"}"));
+        TaskPatchCoalescer.Submission second = coalescer.submit(1L, json("{\"title\": \"b\"}"));
+        TaskPatchCoalescer.Submission other = coalescer.submit(2L, json("{\"title\": \"c\"}"));
+
+        assertNotNull(first.lead());
+        assertNull(second.lead());
+        assertNotNull(other.lead());
+    }
+
+    @Test
+    void isEnabled_ZeroWindow_ReturnsFalse() {
+        assertFalse(new TaskPatchCoalescer(taskService, meterRegistry, Duration.ZERO).isEnabled());
+        assertTrue(coalescer.isEnabled());
+    }
+
+    // Runs the writes the way the request threads would, in arrival order.
+    private static void lead(TaskPatchCoalescer.Submission... submissions) {
+        for (TaskPatchCoalescer.Submission submission : submissions)
+            if (submission.lead() != null)
+                submission.lead().run();
+    }
+
+    private JsonNode json(String value) throws Exception {
+        return objectMapper.readTree(value);
+    }
+}
@@ -0,0 +1,153 @@
+package com.kanban.service;
+
+import com.kanban.model.Task;
+import com.kanban.model.enums.TaskStatus;
+import com.kanban.model.projection.ProjectTaskId;
+import com.kanban.model.projection.RankColumn;
+import com.kanban.model.projection.TaskRank;
+import com.kanban.repository.ProjectRepository;
+import com.kanban.repository.TaskRepository;
+import com.kanban.util.RankUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskRankServiceTests {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Spy
+    private RankUtils rankUtils = new RankUtils();
+
+    @InjectMocks
+    private TaskRankService taskRankService;
+
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    @Test
+    void rerankColumns_LocksColumnThenWritesSpreadInCurrentOrder() {
+        when(projectRepository.findColumnsToRerank(TaskRankService.MAX_RANK_LENGTH))
+                .thenReturn(List.of(column(7L, "TO_DO")));
+        when(projectRepository.findColumnTaskIds(7L, "TO_DO")).thenReturn(List.of(3L, 1L, 2L));
+
+        taskRankService.rerankColumns();
+
+        InOrder inOrder = inOrder(projectRepository, taskRepository);
+        inOrder.verify(projectRepository).lockColumn(7L, "TO_DO");
+        inOrder.verify(projectRepository).findColumnTaskIds(7L, "TO_DO");
+        inOrder.verify(taskRepository).updateRanks(new Long[]{3L, 1L, 2L},
+                rankUtils.spread(3).toArray(String[]::new));
+    }
+
+    @Test
+    void rerankColumn_EmptyColumn_WritesNothing() {
+        when(projectRepository.findColumnTaskIds(7L, "DONE")).thenReturn(List.of());
+
+        taskRankService.rerankColumn(7L, "DONE");
+
+        verify(taskRepository, never()).updateRanks(any(), any());
+    }
+
+    @Test
+    void rankOnTop_PlacesTasksAboveTheirProjectColumnsInGivenOrder() {
+        when(taskRepository.findRanksByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                rankOf(1L, TaskStatus.TO_DO), rankOf(2L, TaskStatus.DONE), rankOf(3L, TaskStatus.TO_DO)));
+        when(projectRepository.findMinColumnRank(7L, "TO_DO")).thenReturn(Optional.of("i"));
+        when(projectRepository.findMinColumnRank(7L, "DONE")).thenReturn(Optional.empty());
+
+        taskRankService.rankOnTop(7L, List.of(1L, 2L, 3L));
+
+        verify(projectRepository).lockColumn(7L, "TO_DO");
+        verify(projectRepository).lockColumn(7L, "DONE");
+        ArgumentCaptor<Long[]> ids = ArgumentCaptor.forClass(Long[].class);
+        ArgumentCaptor<String[]> ranks = ArgumentCaptor.forClass(String[].class);
+        verify(taskRepository).updateRanks(ids.capture(), ranks.capture());
+        Map<Long, String> rankById = new HashMap<>();
+        for (int i = 0; i < ids.getValue().length; i++)
+            rankById.put(ids.getValue()[i], ranks.getValue()[i]);
+        assertTrue(rankById.get(1L).compareTo(rankById.get(3L)) < 0);
+        assertTrue(rankById.get(3L).compareTo("i") < 0);
+        assertNotNull(rankById.get(2L));
+    }
+
+    @Test
+    void placeOnTop_RanksTasksInProjectsAndLeavesOthersAlone() {
+        Task inProject = Task.builder().id(1L).status(TaskStatus.DONE).rank("old").build();
+        Task outside = Task.builder().id(2L).status(TaskStatus.DONE).rank("old").build();
+        when(projectRepository.findProjectTaskIds(Set.of(1L, 2L))).thenReturn(List.of(link(7L, 1L)));
+        when(projectRepository.findMinColumnRank(7L, "DONE")).thenReturn(Optional.of("c"));
+
+        taskRankService.placeOnTop(List.of(inProject, outside));
+
+        InOrder inOrder = inOrder(projectRepository);
+        inOrder.verify(projectRepository).lockColumn(7L, "DONE");
+        inOrder.verify(projectRepository).findMinColumnRank(7L, "DONE");
+        assertTrue(inProject.getRank().compareTo("c") < 0);
+        assertEquals("old", outside.getRank());
+        verify(taskRepository, never()).updateRanks(any(), any());
+    }
+
+    @Test
+    void rankChangedOnTop_RanksEachProjectSeparately() {
+        when(projectRepository.findProjectTaskIds(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(link(8L, 2L), link(7L, 1L)));
+        when(taskRepository.findRanksByIdIn(List.of(1L))).thenReturn(List.of(rankOf(1L, TaskStatus.DONE)));
+        when(taskRepository.findRanksByIdIn(List.of(2L))).thenReturn(List.of(rankOf(2L, TaskStatus.DONE)));
+        when(projectRepository.findMinColumnRank(anyLong(), eq("DONE"))).thenReturn(Optional.empty());
+
+        taskRankService.rankChangedOnTop(List.of(1L, 2L, 3L));
+
+        InOrder inOrder = inOrder(projectRepository, taskRepository);
+        inOrder.verify(projectRepository).lockColumn(7L, "DONE");
+        inOrder.verify(taskRepository).updateRanks(new Long[]{1L}, new String[]{"i"});
+        inOrder.verify(projectRepository).lockColumn(8L, "DONE");
+        inOrder.verify(taskRepository).updateRanks(new Long[]{2L}, new String[]{"i"});
+    }
+
+    @Test
+    void rankOnTop_TopRankWouldGrowTooLong_LeavesTaskUnranked() {
+        when(taskRepository.findRanksByIdIn(List.of(1L))).thenReturn(List.of(rankOf(1L, TaskStatus.TO_DO)));
+        when(projectRepository.findMinColumnRank(7L, "TO_DO"))
+                .thenReturn(Optional.of("0".repeat(RankUtils.MAX_LENGTH - 1) + "1"));
+
+        taskRankService.rankOnTop(7L, List.of(1L));
+
+        verify(taskRepository, never()).updateRanks(any(), any());
+    }
+
+    private ProjectTaskId link(Long projectId, Long taskId) {
+        return projectionFactory.createProjection(ProjectTaskId.class, Map.of("projectId", projectId, "taskId", taskId));
+    }
+
+    private RankColumn column(Long projectId, String status) {
+        return projectionFactory.createProjection(RankColumn.class, Map.of("projectId", projectId, "status", status));
+    }
+
+    private TaskRank rankOf(Long id, TaskStatus status) {
+        return projectionFactory.createProjection(TaskRank.class, Map.of("id", id, "status", status));
+    }
+}
@@ -0,0 +1,61 @@
+package com.kanban.service;
+
+
+import com.kanban.model.Task;
+import com.kanban.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchIndexTests {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private TaskSearchIndex taskSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        taskSearchIndex.index(Task.builder().id(1L).title("Fix login bug").description("Session expires").build());
+        taskSearchIndex.index(Task.builder().id(2L).title("Login page redesign").build());
+        taskSearchIndex.index(Task.builder().id(3L).title("Café menu").description("Crème brûlée").build());
+    }
+
+    @Test
+    void tokenize_LowercasesStripsAccentsAndSplits() {
+        assertEquals(Set.of("creme", "brulee", "v2", "ok"), TaskSearchIndex.tokenize("Crème-brûlée, v2!", "OK"));
+    }
+
+    @Test
+    void search_MatchesPrefixesNewestFirst() {
+        assertEquals(List.of(2L, 1L), taskSearchIndex.search("log", 10));
+        assertEquals(List.of(2L), taskSearchIndex.search("log", 1));
+        assertEquals(List.of(3L), taskSearchIndex.search("CREME", 10));
+    }
+
+    @Test
+    void search_RequiresEveryToken() {
+        assertEquals(List.of(1L), taskSearchIndex.search("login sess", 10));
+        assertEquals(List.of(), taskSearchIndex.search("login menu", 10));
+        assertEquals(List.of(), taskSearchIndex.search("  ", 10));
+    }
+
+    @Test
+    void index_ReplacesPreviousTermsAndRemoveDropsTask() {
+        taskSearchIndex.index(Task.builder().id(1L).title("Fix signup bug").build());
+        taskSearchIndex.remove(2L);
+
+        assertEquals(List.of(), taskSearchIndex.search("login", 10));
+        assertEquals(List.of(1L), taskSearchIndex.search("sign", 10));
+    }
+}
@@ -1,27 +1,48 @@
 package com.kanban.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.kanban.mapper.TaskMapper;
 import com.kanban.model.Project;
 import com.kanban.model.Task;
 import com.kanban.model.UserInfo;
+import com.kanban.model.dto.BulkDeleteResult;
+import com.kanban.model.dto.BulkPatchResult;
+import com.kanban.model.dto.BulkTransitionResult;
+import com.kanban.model.dto.TaskCursorPage;
 import com.kanban.model.dto.TaskDTO;
 import com.kanban.model.enums.TaskPriority;
 import com.kanban.model.enums.TaskStatus;
+import com.kanban.model.payload.BulkPatchRequest.TaskPatch;
+import com.kanban.model.payload.BulkTransitionRequest.ExpectedVersion;
+import com.kanban.model.payload.TaskFilter;
+import com.kanban.model.payload.TaskMoveRequest;
+import com.kanban.model.projection.TaskAssigneeId;
+import com.kanban.model.projection.TaskRank;
+import com.kanban.model.projection.TaskSummary;
 import com.kanban.repository.ProjectRepository;
 import com.kanban.repository.TaskRepository;
 import com.kanban.repository.UserInfoRepository;
-import com.kanban.util.BeanUtilsWrapper;
+import com.kanban.util.CursorUtils;
+import com.kanban.util.JsonPatchApplier;
+import com.kanban.util.MergePatchApplier;
+import com.kanban.util.RankUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.server.ResponseStatusException;
@@ -31,6 +52,7 @@ import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,21 +70,50 @@ class TaskServiceTests {
     @Mock
     private TaskMapper taskMapper;
 
+    @Spy
+    private MergePatchApplier mergePatchApplier = new MergePatchApplier(new ObjectMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Spy
+    private JsonPatchApplier jsonPatchApplier = new JsonPatchApplier(mergePatchApplier);
+
+    @Spy
+    private CursorUtils cursorUtils = new CursorUtils();
+
+    @Spy
+    private RankUtils rankUtils = new RankUtils();
+
     @Mock
-    private BeanUtilsWrapper beanUtilsWrapper;
+    private TaskRankService taskRankService;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private ProjectStatsService projectStatsService;
+
+    @Mock
+    private PatchRebaseService patchRebaseService;
+
+    @Mock
+    private EntityManager entityManager;
 
     @InjectMocks
     private TaskService taskService;
 
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
     private Task task;
     private TaskDTO taskDTO;
     private Task patchedTask;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JsonNode patch;
     private UserInfo user;
     private Project project;
     private Pageable pageable;
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws Exception {
         task = Task.builder()
                 .id(1L)
                 .version(1L)
@@ -99,6 +150,9 @@ class TaskServiceTests {
                 .username("test_user")
                 .build();
         patchedTask.getTaskAssignees().add(user);
+        patch = objectMapper.readTree("""
+                {"title": "Updated Task", "version": 1, "status": "IN_PROGRESS", "priority": "HIGH", "taskAssignees": [{"id": 2}]}
+                """);
 
         project = new Project();
         project.setId(1L);
@@ -111,27 +165,46 @@ class TaskServiceTests {
 
     @Test
     void getTasks_NoStatus_ReturnsAllTasks() {
-        Page<Task> taskPage = new PageImpl<>(List.of(task));
-        when(taskRepository.findAll(pageable)).thenReturn(taskPage);
-        when(taskMapper.taskToDTO(task)).thenReturn(taskDTO);
+        TaskSummary summary = summaryOf(task);
+        when(taskRepository.findSummariesBy(pageable)).thenReturn(List.of(summary));
+        when(taskRepository.findAssigneeIds(List.of(1L))).thenReturn(List.of());
+        when(taskMapper.summaryToDTO(summary, List.of())).thenReturn(taskDTO);
 
-        Page<TaskDTO> result = taskService.getTasks(null, pageable);
+        List<TaskDTO> result = taskService.getTasks(null, pageable);
 
-        assertEquals(1, result.getContent().size());
-        assertEquals(taskDTO, result.getContent().getFirst());
-        verify(taskRepository).findAll(pageable);
+        assertEquals(1, result.size());
+        assertEquals(taskDTO, result.getFirst());
+        verify(taskRepository).findSummariesBy(pageable);
     }
 
     @Test
     void getTasks_WithValidStatus_ReturnsFilteredTasks() {
-        Page<Task> taskPage = new PageImpl<>(List.of(task));
-        when(taskRepository.findByStatus(TaskStatus.TO_DO, pageable)).thenReturn(taskPage);
-        when(taskMapper.taskToDTO(task)).thenReturn(taskDTO);
+        TaskSummary summary = summaryOf(task);
+        when(taskRepository.findSummariesByStatus(TaskStatus.TO_DO, pageable)).thenReturn(List.of(summary));
+        when(taskRepository.findAssigneeIds(List.of(1L))).thenReturn(List.of());
+        when(taskMapper.summaryToDTO(summary, List.of())).thenReturn(taskDTO);
 
-        Page<TaskDTO> result = taskService.getTasks(TaskStatus.TO_DO.name(), pageable);
+        List<TaskDTO> result = taskService.getTasks(TaskStatus.TO_DO.name(), pageable);
 
-        assertEquals(1, result.getContent().size());
-        verify(taskRepository).findByStatus(TaskStatus.TO_DO, pageable);
+        assertEquals(1, result.size());
+        verify(taskRepository).findSummariesByStatus(TaskStatus.TO_DO, pageable);
+    }
+
+    @Test
+    void getTasks_BatchesAssigneeLookupForWholePage() {
+        Task otherTask = Task.builder().id(3L).title("Other").build();
+        TaskSummary first = summaryOf(task);
+        TaskSummary second = summaryOf(otherTask);
+        when(taskRepository.findSummariesBy(pageable)).thenReturn(List.of(first, second));
+        when(taskRepository.findAssigneeIds(List.of(1L, 3L))).thenReturn(List.of(
+                assigneeOf(1L, 2L), assigneeOf(1L, 4L), assigneeOf(3L, 2L)));
+
+        taskService.getTasks(null, pageable);
+
+        verify(taskRepository, times(1)).findAssigneeIds(any());
+        verify(taskMapper).summaryToDTO(first, List.of(2L, 4L));
+        verify(taskMapper).summaryToDTO(second, List.of(2L));
+        verifyNoInteractions(userInfoRepository);
     }
 
     @Test
@@ -141,6 +214,102 @@ class TaskServiceTests {
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
     }
 
+    @Test
+    void filterTasks_ReturnsSummariesWithAssignees() {
+        TaskSummary summary = summaryOf(task);
+        TaskFilter filter = TaskFilter.builder()
+                .statuses(Set.of(TaskStatus.TO_DO, TaskStatus.IN_PROGRESS))
+                .priorities(Set.of(TaskPriority.MEDIUM))
+                .assigneeId(2L)
+                .build();
+        when(taskRepository.findSummaries(any(), eq(pageable))).thenReturn(List.of(summary));
+        when(taskRepository.findAssigneeIds(List.of(1L))).thenReturn(List.of(assigneeOf(1L, 2L)));
+        when(taskMapper.summaryToDTO(summary, List.of(2L))).thenReturn(taskDTO);
+
+        List<TaskDTO> result = taskService.filterTasks(filter, pageable);
+
+        assertEquals(List.of(taskDTO), result);
+    }
+
+    @Test
+    void filterTasks_InvertedDueRange_ThrowsBadRequest() {
+        TaskFilter filter = TaskFilter.builder()
+                .dueFrom(LocalDateTime.now())
+                .dueTo(LocalDateTime.now().minusDays(1))
+                .build();
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.filterTasks(filter, pageable));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void searchTasks_KeepsIndexOrderAndSkipsStaleIds() {
+        Task newer = Task.builder().id(5L).build();
+        TaskSummary newerSummary = summaryOf(newer);
+        TaskSummary summary = summaryOf(task);
+        TaskDTO newerDTO = TaskDTO.builder().id(5L).build();
+        when(taskSearchIndex.search("fix lo", 10)).thenReturn(List.of(5L, 3L, 1L));
+        when(taskRepository.findSummariesByIdIn(List.of(5L, 3L, 1L))).thenReturn(List.of(summary, newerSummary));
+        when(taskRepository.findAssigneeIds(List.of(5L, 1L))).thenReturn(List.of());
+        when(taskMapper.summaryToDTO(newerSummary, List.of())).thenReturn(newerDTO);
+        when(taskMapper.summaryToDTO(summary, List.of())).thenReturn(taskDTO);
+
+        List<TaskDTO> result = taskService.searchTasks("fix lo", 10);
+
+        assertEquals(List.of(newerDTO, taskDTO), result);
+    }
+
+    @Test
+    void searchTasks_BlankQuery_ThrowsBadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.searchTasks(" ", 10));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(taskSearchIndex);
+    }
+
+    @Test
+    void getTasksByCursor_FirstPage_ReturnsNextCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        task.setCreatedAt(createdAt);
+        TaskSummary summary = summaryOf(task);
+        TaskSummary olderSummary = summaryOf(Task.builder().id(0L).createdAt(createdAt.minusDays(1)).build());
+        when(taskRepository.findFirstPage(Limit.of(2))).thenReturn(List.of(summary, olderSummary));
+        when(taskRepository.findAssigneeIds(List.of(1L))).thenReturn(List.of());
+        when(taskMapper.summaryToDTO(summary, List.of())).thenReturn(taskDTO);
+
+        TaskCursorPage result = taskService.getTasksByCursor(null, "", 1);
+
+        assertEquals(List.of(taskDTO), result.getContent());
+        assertEquals(new CursorUtils.Cursor(createdAt, 1L), cursorUtils.decode(result.getNextCursor()));
+        verify(taskMapper, never()).summaryToDTO(eq(olderSummary), any());
+    }
+
+    @Test
+    void getTasksByCursor_WithCursorAndStatus_SeeksAfterCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        String cursor = cursorUtils.encode(createdAt, 5L);
+        TaskSummary summary = summaryOf(task);
+        when(taskRepository.findPageAfterByStatus(TaskStatus.TO_DO, createdAt, 5L, Limit.of(11)))
+                .thenReturn(List.of(summary));
+        when(taskRepository.findAssigneeIds(List.of(1L))).thenReturn(List.of());
+        when(taskMapper.summaryToDTO(summary, List.of())).thenReturn(taskDTO);
+
+        TaskCursorPage result = taskService.getTasksByCursor(TaskStatus.TO_DO.name(), cursor, 10);
+
+        assertEquals(List.of(taskDTO), result.getContent());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getTasksByCursor_MalformedCursor_ThrowsBadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.getTasksByCursor(null, "not-a-cursor", 10));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(taskRepository);
+    }
+
     @Test
     void getTaskById_ExistingId_ReturnsTask() {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
@@ -174,9 +343,19 @@ class TaskServiceTests {
         verify(taskRepository).save(task);
     }
 
+    @Test
+    void saveNewTask_OutsideAnyProject_IsNotRanked() {
+        task.setRank("a");
+        when(taskRepository.save(task)).thenReturn(task);
+
+        taskService.saveNewTask(task);
+
+        assertNull(task.getRank());
+    }
+
     @Test
     void updateTask_Success() {
-        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
         when(taskRepository.save(any(Task.class))).thenReturn(task);
         when(taskMapper.taskToDTO(task)).thenReturn(taskDTO);
 
@@ -185,11 +364,27 @@ class TaskServiceTests {
         assertEquals(taskDTO, result);
         assertNotNull(task.getUpdatedAt());
         verify(taskRepository).save(task);
+        verifyNoInteractions(taskRankService);
+    }
+
+    @Test
+    void updateTask_StatusChange_MovesProjectCounters() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(patchedTask)).thenReturn(patchedTask);
+        when(taskMapper.taskToDTO(patchedTask)).thenReturn(taskDTO);
+
+        taskService.updateTask(1L, patchedTask);
+
+        verify(projectStatsService).taskChanged(1L,
+                TaskStatus.TO_DO, TaskPriority.MEDIUM, TaskStatus.IN_PROGRESS, TaskPriority.HIGH);
+        InOrder inOrder = inOrder(taskRankService, taskRepository);
+        inOrder.verify(taskRankService).placeOnTop(List.of(patchedTask));
+        inOrder.verify(taskRepository).save(patchedTask);
     }
 
     @Test
     void updateTask_NonExistingId_ThrowsNotFound() {
-        when(taskRepository.existsById(1L)).thenReturn(false);
+        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> taskService.updateTask(1L, task));
@@ -198,7 +393,7 @@ class TaskServiceTests {
 
     @Test
     void updateTask_ThrowsOptimisticLockException() {
-        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
         when(taskRepository.save(task)).thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> taskService.updateTask(1L, task));
@@ -211,35 +406,38 @@ class TaskServiceTests {
     void updateTask_VersionNotInRequest_ThrowsBadRequest() {
         patchedTask.setVersion(null);
 
-        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
             taskService.updateTask(1L, patchedTask);
         });
 
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
-        verify(taskRepository).existsById(1L);
+        verify(taskRepository).findById(1L);
         verify(taskRepository, never()).save(any(Task.class));
     }
 
     @Test
     void savePatchedTask_ValidIdAndData_SavesAndReturnsDTO() {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(userInfoRepository.findById(2L)).thenReturn(Optional.of(user));
-        doNothing().when(beanUtilsWrapper).copyProperties(patchedTask, task,
-                "id", "version", "taskAssignees", "createdAt", "updatedAt");
-        when(taskRepository.save(task)).thenReturn(task);
+        when(userInfoRepository.findAllById(Set.of(2L))).thenReturn(List.of(user));
+        when(taskRepository.saveAndFlush(task)).thenReturn(task);
         when(taskMapper.taskToDTO(task)).thenReturn(taskDTO);
 
-        TaskDTO result = taskService.savePatchedTask(1L, patchedTask);
+        TaskDTO result = taskService.savePatchedTask(1L, patch);
 
         assertNotNull(result);
         assertEquals(taskDTO, result);
+        assertEquals("Updated Task", task.getTitle());
+        assertEquals(TaskStatus.IN_PROGRESS, task.getStatus());
+        assertEquals(TaskPriority.HIGH, task.getPriority());
+        assertEquals("This is a test task description", task.getDescription());
+        assertEquals(1L, task.getId());
         assertNotNull(task.getUpdatedAt());
         assertTrue(task.getTaskAssignees().contains(user));
-        verify(beanUtilsWrapper).copyProperties(patchedTask, task,
-                "id", "version", "taskAssignees", "createdAt", "updatedAt");
-        verify(taskRepository).save(task);
+        InOrder inOrder = inOrder(taskRankService, taskRepository);
+        inOrder.verify(taskRankService).placeOnTop(List.of(task));
+        inOrder.verify(taskRepository).saveAndFlush(task);
         verify(taskMapper).taskToDTO(task);
     }
 
@@ -248,67 +446,124 @@ class TaskServiceTests {
         when(taskRepository.findById(1L)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                () -> taskService.savePatchedTask(1L, patchedTask));
+                () -> taskService.savePatchedTask(1L, patch));
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
         assertEquals("Task not found", exception.getReason());
 
         verify(taskRepository).findById(1L);
-        verifyNoInteractions(beanUtilsWrapper, taskMapper, userInfoRepository);
+        verifyNoInteractions(taskMapper, userInfoRepository);
     }
 
     @Test
     void savePatchedTask_NonExistingAssignee_ThrowsNotFound() {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(userInfoRepository.findById(2L)).thenReturn(Optional.empty());
+        when(userInfoRepository.findAllById(Set.of(2L))).thenReturn(List.of());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                () -> taskService.savePatchedTask(1L, patchedTask));
+                () -> taskService.savePatchedTask(1L, patch));
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
-        assertEquals("User not found", exception.getReason());
+        assertEquals("Users not found: [2]", exception.getReason());
 
         verify(taskRepository).findById(1L);
         verifyNoMoreInteractions(taskRepository);
-        verify(beanUtilsWrapper).copyProperties(patchedTask, task,
-                "id", "version", "taskAssignees", "createdAt", "updatedAt");
-        verify(userInfoRepository).findById(2L);
+        verify(userInfoRepository).findAllById(Set.of(2L));
         verifyNoInteractions(taskMapper);
     }
 
+    @Test
+    void savePatchedTask_SeveralAssignees_ResolvesThemInOneQuery() throws Exception {
+        UserInfo other = UserInfo.builder().id(3L).username("other_user").build();
+        patch = objectMapper.readTree("{\"version\": 1, \"taskAssignees\": [2, {\"id\": 3}, 2, 4]}");
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(userInfoRepository.findAllById(Set.of(2L, 3L, 4L))).thenReturn(List.of(user, other));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.savePatchedTask(1L, patch));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+        assertEquals("Users not found: [4]", exception.getReason());
+        verify(userInfoRepository).findAllById(Set.of(2L, 3L, 4L));
+        verifyNoMoreInteractions(userInfoRepository);
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
     @Test
     void savePatchedTask_ConcurrentUpdate_ThrowsConflict() {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(userInfoRepository.findById(2L)).thenReturn(Optional.of(user));
-        doNothing().when(beanUtilsWrapper).copyProperties(patchedTask, task,
-                "id", "version", "taskAssignees", "createdAt", "updatedAt");
-        when(taskRepository.save(task)).thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+        when(userInfoRepository.findAllById(Set.of(2L))).thenReturn(List.of(user));
+        when(taskRepository.saveAndFlush(task)).thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                () -> taskService.savePatchedTask(1L, patchedTask));
+                () -> taskService.savePatchedTask(1L, patch));
         assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
         assertEquals("Task was updated concurrently", exception.getReason());
-        verify(taskRepository).save(task);
+        verify(taskRepository).saveAndFlush(task);
     }
 
     @Test
-    void savePatchedTask_NullAssignees_SkipsAssigneeUpdate() {
-        patchedTask.setTaskAssignees(null);
+    void savePatchedTask_StaleVersion_ThrowsConflict() throws Exception {
+        patch = objectMapper.readTree("{\"version\": 0, \"title\": \"Stale\"}");
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        doNothing().when(beanUtilsWrapper).copyProperties(patchedTask, task,
-                "id", "version", "taskAssignees", "createdAt", "updatedAt");
-        when(taskRepository.save(task)).thenReturn(task);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.savePatchedTask(1L, patch));
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        assertEquals("Test Task", task.getTitle());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void savePatchedTask_RebaseOfStaleVersion_AppliesPatch() throws Exception {
+        task.setVersion(3L);
+        patch = objectMapper.readTree("{\"version\": 1, \"title\": \"Rebased\"}");
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(patchRebaseService.canRebase(Task.class, 1L, patch, 3L)).thenReturn(true);
+        when(taskRepository.saveAndFlush(task)).thenReturn(task);
         when(taskMapper.taskToDTO(task)).thenReturn(taskDTO);
 
-        TaskDTO result = taskService.savePatchedTask(1L, patchedTask);
+        assertEquals(taskDTO, taskService.savePatchedTask(1L, patch, true));
+
+        assertEquals("Rebased", task.getTitle());
+        verify(patchRebaseService).recordAfterCommit(eq(Task.class), eq(1L), eq(3L), any(), eq(patch));
+    }
+
+    @Test
+    void savePatchedTask_RebaseLosesRace_RethrowsForRetry() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(userInfoRepository.findAllById(Set.of(2L))).thenReturn(List.of(user));
+        when(taskRepository.saveAndFlush(task)).thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> taskService.savePatchedTask(1L, patch, true));
+    }
+
+    @Test
+    void savePatchedTask_NullAssignees_SkipsAssigneeUpdate() throws Exception {
+        patch = objectMapper.readTree("{\"version\": 1, \"title\": \"Updated Task\"}");
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.saveAndFlush(task)).thenReturn(task);
+        when(taskMapper.taskToDTO(task)).thenReturn(taskDTO);
+
+        TaskDTO result = taskService.savePatchedTask(1L, patch);
 
         assertNotNull(result);
         assertEquals(taskDTO, result);
         assertTrue(task.getTaskAssignees().isEmpty()); // Assignees not cleared or updated
-        verify(beanUtilsWrapper).copyProperties(patchedTask, task,
-                "id", "version", "taskAssignees", "createdAt", "updatedAt");
-        verify(taskRepository).save(task);
+        verify(taskRepository).saveAndFlush(task);
         verifyNoInteractions(userInfoRepository);
     }
 
+    @Test
+    void savePatchedTask_InvalidEnumValue_ThrowsBadRequest() throws Exception {
+        patch = objectMapper.readTree("{\"version\": 1, \"status\": \"NOT_A_STATUS\"}");
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.savePatchedTask(1L, patch));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
     @Test
     void deleteTaskById_NonExistingId_ThrowsNotFound() {
         when(taskRepository.findById(1L)).thenReturn(Optional.empty());
@@ -316,49 +571,290 @@ class TaskServiceTests {
                 () -> taskService.deleteTaskById(1L));
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
         verify(taskRepository).findById(1L);
-        verifyNoInteractions(projectRepository, taskMapper, userInfoRepository, beanUtilsWrapper);
+        verifyNoInteractions(projectRepository, taskMapper, userInfoRepository);
     }
 
     @Test
-    void savePatchedTask_NoVersionInRequest_ThrowsBadRequest() {
-        patchedTask.setVersion(null);
+    void savePatchedTask_NullVersionInRequest_ThrowsBadRequest() throws Exception {
+        patch = objectMapper.readTree("{\"version\": null}");
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
-            taskService.savePatchedTask(1L, patchedTask);
+            taskService.savePatchedTask(1L, patch);
         });
 
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
-        verify(taskRepository, never()).existsById(1L);
         verify(taskRepository, never()).save(any(Task.class));
     }
 
     @Test
     void deleteTaskById_ProjectNotFound_SkipsDeleteProjectTask() {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(projectRepository.findAll()).thenReturn(List.of());
+        when(projectRepository.findProjectIdByTaskId(1L)).thenReturn(Optional.empty());
 
         taskService.deleteTaskById(1L);
 
         verify(taskRepository).findById(1L);
-        verify(projectRepository).findAll();
+        verify(projectRepository).findProjectIdByTaskId(1L);
         verifyNoMoreInteractions(projectRepository);
         verify(taskRepository).deleteById(1L);
-
+        verify(taskSearchIndex).remove(1L);
     }
 
     @Test
     void deleteTaskById_ProjectFound_DeletesProjectTask() {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(projectRepository.findAll()).thenReturn(List.of(project));
-        when(projectRepository.save(project)).thenReturn(project);
+        when(projectRepository.findProjectIdByTaskId(1L)).thenReturn(Optional.of(1L));
 
         taskService.deleteTaskById(1L);
 
-        assertFalse(project.getTasks().contains(task));
-        verify(taskRepository).findById(1L);
-        verify(projectRepository).findAll();
-        verify(projectRepository).save(project);
+        verify(projectRepository).deleteTaskLinks(List.of(1L));
+        verify(projectStatsService).taskRemoved(1L, TaskStatus.TO_DO, TaskPriority.MEDIUM);
+        verify(projectRepository, never()).findAll();
         verify(taskRepository).deleteById(1L);
     }
 
+    @Test
+    void deleteTasks_DeletesExistingIdsAndReportsMissing() {
+        when(taskRepository.findExistingIds(Set.of(1L, 2L, 3L))).thenReturn(List.of(3L, 1L));
+
+        BulkDeleteResult result = taskService.deleteTasks(List.of(3L, 2L, 1L, 3L));
+
+        assertEquals(List.of(3L, 1L), result.getDeleted());
+        assertEquals(List.of(2L), result.getNotFound());
+        InOrder inOrder = inOrder(projectStatsService, projectRepository, taskRepository);
+        inOrder.verify(projectStatsService).tasksRemoved(List.of(3L, 1L));
+        inOrder.verify(projectRepository).deleteTaskLinks(List.of(3L, 1L));
+        inOrder.verify(taskRepository).deleteAssigneeLinks(List.of(3L, 1L));
+        inOrder.verify(taskRepository).deleteAllByIdInBatch(List.of(3L, 1L));
+        verify(taskSearchIndex).removeAll(List.of(3L, 1L));
+    }
+
+    @Test
+    void deleteTasks_NothingExists_RunsNoDeletes() {
+        when(taskRepository.findExistingIds(Set.of(7L))).thenReturn(List.of());
+
+        BulkDeleteResult result = taskService.deleteTasks(List.of(7L));
+
+        assertEquals(List.of(), result.getDeleted());
+        assertEquals(List.of(7L), result.getNotFound());
+        verifyNoMoreInteractions(taskRepository);
+        verifyNoInteractions(projectRepository, projectStatsService);
+    }
+
+    @Test
+    void transitionTasks_ReportsConflictsAndMissingIds() {
+        when(taskRepository.transitionStatus(eq(new Long[]{1L, 2L, 3L}), eq(new Long[]{4L, 5L, 6L}),
+                eq("DONE"), any(LocalDateTime.class))).thenReturn(List.of(3L));
+        when(taskRepository.findExistingIds(List.of(1L, 2L))).thenReturn(List.of(1L));
+
+        BulkTransitionResult result = taskService.transitionTasks(TaskStatus.DONE, List.of(
+                new ExpectedVersion(1L, 4L), new ExpectedVersion(2L, 5L),
+                new ExpectedVersion(3L, 6L), new ExpectedVersion(1L, 9L)));
+
+        assertEquals("DONE", result.getStatus());
+        assertEquals(List.of(3L), result.getUpdated());
+        assertEquals(List.of(1L), result.getConflicts());
+        assertEquals(List.of(2L), result.getNotFound());
+        verify(projectStatsService).tasksChanged(Set.of(3L));
+        verify(taskRankService).rankChangedOnTop(List.of(3L));
+    }
+
+    @Test
+    void transitionTasks_AllUpdated_SkipsExistenceLookup() {
+        when(taskRepository.transitionStatus(eq(new Long[]{1L}), eq(new Long[]{4L}),
+                eq("IN_PROGRESS"), any(LocalDateTime.class))).thenReturn(List.of(1L));
+
+        BulkTransitionResult result = taskService.transitionTasks(TaskStatus.IN_PROGRESS,
+                List.of(new ExpectedVersion(1L, 4L)));
+
+        assertEquals(List.of(1L), result.getUpdated());
+        assertTrue(result.getConflicts().isEmpty());
+        assertTrue(result.getNotFound().isEmpty());
+        verify(taskRepository, never()).findExistingIds(any());
+    }
+
+    @Test
+    void moveTask_BetweenNeighbours_WritesOnlyMovedTask() {
+        task.setRank("a");
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findRanksByIdIn(List.of(2L, 3L))).thenReturn(List.of(
+                rankOf(2L, TaskStatus.IN_PROGRESS, "h"), rankOf(3L, TaskStatus.IN_PROGRESS, "i")));
+        when(taskRepository.save(task)).thenReturn(task);
+        when(taskMapper.taskToDTO(task)).thenReturn(taskDTO);
+
+        TaskDTO result = taskService.moveTask(1L, TaskMoveRequest.builder()
+                .status(TaskStatus.IN_PROGRESS).previousId(2L).nextId(3L).version(1L).build());
+
+        assertEquals(taskDTO, result);
+        assertEquals(TaskStatus.IN_PROGRESS, task.getStatus());
+        assertTrue(task.getRank().compareTo("h") > 0 && task.getRank().compareTo("i") < 0);
+        verify(taskRepository).save(task);
+        verify(projectStatsService).taskChanged(1L, TaskStatus.TO_DO, TaskPriority.MEDIUM,
+                TaskStatus.IN_PROGRESS, TaskPriority.MEDIUM);
+    }
+
+    @Test
+    void moveTask_LocksTargetColumnBeforeReadingNeighbours() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(projectRepository.findProjectIdByTaskId(1L)).thenReturn(Optional.of(7L));
+        when(taskRepository.findRanksByIdIn(List.of(2L))).thenReturn(List.of(rankOf(2L, TaskStatus.DONE, "m", 7L)));
+        when(taskRepository.save(task)).thenReturn(task);
+
+        taskService.moveTask(1L, TaskMoveRequest.builder().status(TaskStatus.DONE).previousId(2L).build());
+
+        InOrder inOrder = inOrder(projectRepository, taskRepository);
+        inOrder.verify(projectRepository).lockColumn(7L, "DONE");
+        inOrder.verify(taskRepository).findRanksByIdIn(List.of(2L));
+        inOrder.verify(taskRepository).save(task);
+        assertTrue(task.getRank().compareTo("m") > 0);
+    }
+
+    @Test
+    void moveTask_RankTooLong_ReranksColumnAndPicksAgain() {
+        String deep = "h" + "0".repeat(RankUtils.MAX_LENGTH - 1) + "1";
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(projectRepository.findProjectIdByTaskId(1L)).thenReturn(Optional.of(7L));
+        when(taskRepository.findRanksByIdIn(List.of(2L, 3L)))
+                .thenReturn(List.of(rankOf(2L, TaskStatus.TO_DO, "h", 7L), rankOf(3L, TaskStatus.TO_DO, deep, 7L)))
+                .thenReturn(List.of(rankOf(2L, TaskStatus.TO_DO, "h", 7L), rankOf(3L, TaskStatus.TO_DO, "i", 7L)));
+        when(taskRepository.save(task)).thenReturn(task);
+
+        taskService.moveTask(1L, TaskMoveRequest.builder().previousId(2L).nextId(3L).build());
+
+        InOrder inOrder = inOrder(taskRankService, entityManager, taskRepository);
+        inOrder.verify(taskRankService).rerankColumn(7L, "TO_DO");
+        inOrder.verify(entityManager).refresh(task);
+        inOrder.verify(taskRepository).save(task);
+        assertTrue(task.getRank().compareTo("h") > 0 && task.getRank().compareTo("i") < 0);
+        assertTrue(task.getRank().length() <= RankUtils.MAX_LENGTH);
+    }
+
+    @Test
+    void moveTask_NeighboursOutOfOrder_ThrowsConflict() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findRanksByIdIn(List.of(2L, 3L))).thenReturn(List.of(
+                rankOf(2L, TaskStatus.TO_DO, "m"), rankOf(3L, TaskStatus.TO_DO, "c")));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.moveTask(1L, TaskMoveRequest.builder().previousId(2L).nextId(3L).build()));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void moveTask_NeighbourOnAnotherBoard_ThrowsBadRequest() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(projectRepository.findProjectIdByTaskId(1L)).thenReturn(Optional.of(7L));
+        when(taskRepository.findRanksByIdIn(List.of(2L))).thenReturn(List.of(rankOf(2L, TaskStatus.TO_DO, "m", 8L)));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.moveTask(1L, TaskMoveRequest.builder().previousId(2L).build()));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        assertEquals("Neighbour is on another board", exception.getReason());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void moveTask_NeighbourInOtherColumn_ThrowsBadRequest() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findRanksByIdIn(List.of(2L))).thenReturn(List.of(rankOf(2L, TaskStatus.DONE, "m")));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> taskService.moveTask(1L, TaskMoveRequest.builder().previousId(2L).build()));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void patchTasks_AppliesPatchesInOneFlushAndReportsFailures() throws Exception {
+        Task stale = Task.builder().id(2L).version(3L).title("Stale").status(TaskStatus.TO_DO)
+                .priority(TaskPriority.LOW).taskAssignees(new HashSet<>()).build();
+        when(taskRepository.findAllById(any())).thenReturn(List.of(task, stale));
+        when(taskRepository.findAssigneeIds(List.of(1L))).thenReturn(List.of());
+        when(taskMapper.taskToDTO(task, List.of())).thenReturn(taskDTO);
+
+        BulkPatchResult result = taskService.patchTasks(List.of(
+                new TaskPatch(1L, 1L, objectMapper.readTree("""
+                        [{"op": "test", "path": "/title", "value": "Test Task"},
+                         {"op": "replace", "path": "/title", "value": "Renamed"},
+                         {"op": "replace", "path": "/status", "value": "DONE"}]""")),
+                new TaskPatch(2L, 2L, objectMapper.readTree("[{\"op\": \"remove\", \"path\": \"/description\"}]")),
+                new TaskPatch(3L, 1L, objectMapper.readTree("[{\"op\": \"remove\", \"path\": \"/description\"}]")),
+                new TaskPatch(1L, 1L, objectMapper.readTree("[{\"op\": \"move\", \"path\": \"/title\"}]"))));
+
+        assertEquals(1, result.getUpdated());
+        assertEquals(List.of(200, 409, 404, 400),
+                result.getResults().stream().map(BulkPatchResult.ItemResult::getStatus).toList());
+        assertEquals(taskDTO, result.getResults().getFirst().getTask());
+        assertEquals("Renamed", task.getTitle());
+        assertEquals(TaskStatus.DONE, task.getStatus());
+        assertEquals("Stale", stale.getTitle());
+        InOrder inOrder = inOrder(taskRankService, taskRepository);
+        inOrder.verify(taskRankService).placeOnTop(List.of(task));
+        inOrder.verify(taskRepository).flush();
+        verify(projectStatsService).tasksChanged(Set.of(1L));
+        verify(taskSearchIndex).indexAll(any());
+        verifyNoInteractions(userInfoRepository);
+    }
+
+    @Test
+    void patchTasks_FailedOperation_DetachesTaskAndSkipsFlush() throws Exception {
+        when(taskRepository.findAllById(any())).thenReturn(List.of(task));
+
+        BulkPatchResult result = taskService.patchTasks(List.of(new TaskPatch(1L, 1L, objectMapper.readTree("""
+                [{"op": "replace", "path": "/title", "value": "Renamed"},
+                 {"op": "test", "path": "/priority", "value": "HIGH"}]"""))));
+
+        assertEquals(0, result.getUpdated());
+        assertEquals(409, result.getResults().getFirst().getStatus());
+        verify(entityManager).detach(task);
+        verify(taskRepository, never()).flush();
+        verifyNoInteractions(projectStatsService, taskSearchIndex);
+    }
+
+    @Test
+    void patchTasks_AppendsAssigneesFromOneUserQuery() throws Exception {
+        when(taskRepository.findAllById(any())).thenReturn(List.of(task));
+        when(userInfoRepository.findAllById(Set.of(2L))).thenReturn(List.of(user));
+        when(taskRepository.findAssigneeIds(List.of(1L))).thenReturn(List.of(assigneeOf(1L, 2L)));
+        when(taskMapper.taskToDTO(task, List.of(2L))).thenReturn(taskDTO);
+
+        BulkPatchResult result = taskService.patchTasks(List.of(new TaskPatch(1L, 1L, objectMapper.readTree(
+                "[{\"op\": \"add\", \"path\": \"/taskAssignees/-\", \"value\": 2}]"))));
+
+        assertEquals(1, result.getUpdated());
+        assertEquals(Set.of(user), task.getTaskAssignees());
+        verify(projectStatsService, never()).tasksChanged(any());
+    }
+
+    private TaskRank rankOf(Long id, TaskStatus status, String rank) {
+        return projectionFactory.createProjection(TaskRank.class, Map.of("id", id, "status", status, "rank", rank));
+    }
+
+    private TaskRank rankOf(Long id, TaskStatus status, String rank, Long projectId) {
+        return projectionFactory.createProjection(TaskRank.class,
+                Map.of("id", id, "status", status, "rank", rank, "projectId", projectId));
+    }
+
+    private TaskSummary summaryOf(Task source) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", source.getId());
+        values.put("title", source.getTitle());
+        values.put("description", source.getDescription());
+        values.put("status", source.getStatus());
+        values.put("priority", source.getPriority());
+        values.put("createdAt", source.getCreatedAt());
+        values.put("dueAt", source.getDueAt());
+        values.put("rank", source.getRank());
+        return projectionFactory.createProjection(TaskSummary.class, values);
+    }
+
+    private TaskAssigneeId assigneeOf(Long taskId, Long userId) {
+        return projectionFactory.createProjection(TaskAssigneeId.class, Map.of("taskId", taskId, "userId", userId));
+    }
+
 }
@@ -0,0 +1,125 @@
+package com.kanban.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankUtilsTests {
+
+    private final RankUtils rankUtils = new RankUtils();
+
+    @Test
+    void between_NoBounds_ReturnsMiddle() {
+        assertEquals("i", rankUtils.between(null, null));
+    }
+
+    @Test
+    void between_OneBound_StepsByOneDigit() {
+        assertEquals("h", rankUtils.between(null, "i"));
+        assertEquals("j", rankUtils.between("i", null));
+    }
+
+    @Test
+    void between_AdjacentKeys_GoesOneDigitDeeper() {
+        assertBetween("h", "h0i");
+        assertBetween("h", "h1");
+        assertBetween("h", "i");
+        assertBetween("h0z", "h1");
+        assertBetween("zz", null);
+        assertBetween(null, "01");
+    }
+
+    @Test
+    void between_RepeatedPrepends_StayOrderedAndShort() {
+        String top = null;
+        for (int i = 0; i < 1000; i++) {
+            String rank = rankUtils.between(null, top);
+            if (top != null)
+                assertTrue(rank.compareTo(top) < 0);
+            top = rank;
+        }
+        // One more digit for every 17 or so prepends.
+        assertTrue(top.length() <= 1000 / 17 + 2, top);
+    }
+
+    @Test
+    void between_RepeatedInsertsAfterSameKey_StayOrdered() {
+        String after = "i";
+        for (int i = 0; i < 200; i++) {
+            String rank = rankUtils.between("h", after);
+            assertTrue(rank.compareTo("h") > 0 && rank.compareTo(after) < 0);
+            after = rank;
+        }
+        // Each insert halves the gap: one more digit for every 5 or so.
+        assertTrue(after.length() <= 200 / 5 + 2, after);
+    }
+
+    @Test
+    void between_RepeatedInsertsBelowDeeperKey_HalveTheGap() {
+        String after = "h1";
+        for (int i = 0; i < 70; i++) {
+            String rank = rankUtils.between("h", after);
+            assertTrue(rank.compareTo("h") > 0 && rank.compareTo(after) < 0);
+            after = rank;
+        }
+        assertTrue(after.length() <= 70 / 5 + 3, after);
+        assertTrue(after.length() <= RankUtils.MAX_LENGTH);
+    }
+
+    @Test
+    void between_InvalidBounds_Throw() {
+        assertThrows(IllegalArgumentException.class, () -> rankUtils.between("i", "h"));
+        assertThrows(IllegalArgumentException.class, () -> rankUtils.between("h", "h"));
+        assertThrows(IllegalArgumentException.class, () -> rankUtils.between("h", "h0"));
+        assertThrows(IllegalArgumentException.class, () -> rankUtils.between(null, ""));
+        assertThrows(IllegalArgumentException.class, () -> rankUtils.between("H", null));
+    }
+
+    @Test
+    void spread_FitsInOneDigitUpTo35() {
+        List<String> ranks = rankUtils.spread(35);
+
+        assertEquals("1", ranks.getFirst());
+        assertEquals("z", ranks.getLast());
+        assertSpread(ranks, 35, 1);
+    }
+
+    @Test
+    void spread_GrowsOneDigitPerPowerOf36() {
+        assertSpread(rankUtils.spread(1), 1, 1);
+        assertSpread(rankUtils.spread(36), 36, 2);
+        assertSpread(rankUtils.spread(1000), 1000, 2);
+        assertSpread(rankUtils.spread(1295), 1295, 2);
+        assertSpread(rankUtils.spread(1296), 1296, 3);
+    }
+
+    @Test
+    void spread_LeavesRoomAtBothEnds() {
+        List<String> ranks = rankUtils.spread(1000);
+
+        assertBetween(null, ranks.getFirst());
+        assertBetween(ranks.getLast(), null);
+    }
+
+    private void assertBetween(String before, String after) {
+        String rank = rankUtils.between(before, after);
+        if (before != null)
+            assertTrue(rank.compareTo(before) > 0, rank + " should sort after " + before);
+        if (after != null)
+            assertTrue(rank.compareTo(after) < 0, rank + " should sort before " + after);
+        assertNotEquals('0', rank.charAt(rank.length() - 1));
+    }
+
+    private void assertSpread(List<String> ranks, int count, int width) {
+        assertEquals(count, ranks.size());
+        for (int i = 0; i < ranks.size(); i++) {
+            String rank = ranks.get(i);
+            assertTrue(rank.length() <= width, rank);
+            assertNotEquals('0', rank.charAt(rank.length() - 1));
+            if (i > 0)
+                assertTrue(ranks.get(i - 1).compareTo(rank) < 0);
+        }
+    }
+}